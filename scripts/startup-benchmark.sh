@@ -0,0 +1,126 @@
+#!/usr/bin/env bash
+# ========================================
+# Startup benchmark: thời gian đến request thành công đầu tiên
+# ========================================
+#
+# So sánh 3 chế độ chạy cùng 1 jar (build bằng ./mvnw -Paot package -DskipTests):
+#   jvm      : java -jar (không AOT, không CDS)
+#   cds      : + CDS archive (training run giống Dockerfile)
+#   aot-cds  : + -Dspring.aot.enabled=true (cấu hình như container production)
+#
+# Yêu cầu: PostgreSQL + Redis đang chạy (docker compose up -d postgres redis),
+# vì bean definitions AOT được chốt theo profile prod lúc build.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [modes...]
+#   scripts/startup-benchmark.sh 5
+#   scripts/startup-benchmark.sh 10 jvm aot-cds
+#
+# Env:
+#   BENCH_URL   endpoint đo (mặc định GET /api/v1/posts?page=0&size=1)
+#   BENCH_PORT  port cho app (mặc định 18080, tránh đụng app đang chạy)
+#   JAVA_OPTS   JVM options thêm cho mọi chế độ
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jvm cds aot-cds)
+fi
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+WORK_DIR="$ROOT_DIR/target/startup-benchmark"
+PORT="${BENCH_PORT:-18080}"
+URL="${BENCH_URL:-http://localhost:$PORT/api/v1/posts?page=0&size=1}"
+TIMEOUT_SECONDS=120
+
+export SPRING_PROFILES_ACTIVE="${SPRING_PROFILES_ACTIVE:-prod}"
+export JWT_SECRET="${JWT_SECRET:-58c6bc688fe95096789a34aae52a9808c6bcbf18ceeabcbbcca4c70168fc426e}"
+export REDIS_HOST="${REDIS_HOST:-localhost}"
+
+JAR="$(ls "$ROOT_DIR"/target/blogapi-*.jar 2>/dev/null | grep -v sources | head -n 1 || true)"
+if [ -z "$JAR" ]; then
+    echo "❌ Không tìm thấy jar. Chạy trước: ./mvnw -Paot package -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# ========== Chuẩn bị: extract jar + CDS training (giống Dockerfile) ==========
+rm -rf "$WORK_DIR"
+mkdir -p "$WORK_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/app" > /dev/null
+APP_JAR="$WORK_DIR/app/$(basename "$JAR")"
+
+echo "⏳ CDS training run..."
+(cd "$WORK_DIR/app" && java -XX:ArchiveClassesAtExit=app.jsa \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    -Dspring.datasource.url="jdbc:h2:mem:cds-training;DB_CLOSE_DELAY=-1" \
+    -Dspring.datasource.driver-class-name=org.h2.Driver \
+    -Dspring.datasource.username=sa \
+    -Dspring.datasource.password= \
+    -Dspring.jpa.hibernate.ddl-auto=create-drop \
+    -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+    -Dspring.flyway.locations=classpath:db/cds-training \
+    -Dapp.trending.enabled=false \
+    -jar "$APP_JAR" > "$WORK_DIR/training.log" 2>&1)
+
+mode_opts() {
+    case "$1" in
+        jvm) echo "" ;;
+        cds) echo "-XX:SharedArchiveFile=$WORK_DIR/app/app.jsa" ;;
+        aot-cds) echo "-XX:SharedArchiveFile=$WORK_DIR/app/app.jsa -Dspring.aot.enabled=true" ;;
+        *) echo "❌ Mode không hợp lệ: $1 (jvm | cds | aot-cds)" >&2; exit 1 ;;
+    esac
+}
+
+# ========== 1 lần đo: start JVM → poll đến khi request đầu tiên trả 2xx ==========
+measure_once() {
+    local opts="$1"
+    local log_file="$2"
+    local start pid elapsed
+
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} $opts -Dserver.port="$PORT" -jar "$APP_JAR" > "$log_file" 2>&1 &
+    pid=$!
+
+    while true; do
+        if curl -sf -o /dev/null "$URL"; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ App thoát trước khi sẵn sàng, xem $log_file" >&2
+            exit 1
+        fi
+        if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            kill "$pid" 2>/dev/null || true
+            echo "❌ Timeout ${TIMEOUT_SECONDS}s, xem $log_file" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+# ========== Chạy benchmark ==========
+printf "\n%-10s %8s %8s %8s   (ms đến request thành công đầu tiên, %s runs)\n" "mode" "min" "median" "max" "$RUNS"
+for mode in "${MODES[@]}"; do
+    opts="$(mode_opts "$mode")"
+    results=()
+    for run in $(seq 1 "$RUNS"); do
+        results+=("$(measure_once "$opts" "$WORK_DIR/$mode-$run.log")")
+    done
+    sorted=($(printf "%s\n" "${results[@]}" | sort -n))
+    count=${#sorted[@]}
+    printf "%-10s %8s %8s %8s\n" "$mode" "${sorted[0]}" "${sorted[$(( count / 2 ))]}" "${sorted[$(( count - 1 ))]}"
+done
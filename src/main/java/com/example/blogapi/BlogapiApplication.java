@@ -2,12 +2,16 @@ package com.example.blogapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.example.blogapi.config.BlogApiRuntimeHints;
+
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAwareImpl")
 @EnableScheduling
+@ImportRuntimeHints(BlogApiRuntimeHints.class)
 public class BlogapiApplication {
 
 	public static void main(String[] args) {
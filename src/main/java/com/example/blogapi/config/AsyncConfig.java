@@ -0,0 +1,60 @@
+package com.example.blogapi.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor cho các background job chạy lâu (xoá account lớn, ...)
+ *
+ * 🎯 TÁCH RIÊNG khỏi Tomcat request threads:
+ * - Pool nhỏ, queue có giới hạn → job nặng không chiếm hết connection pool
+ *
+ * - timelineFanOutExecutor: fan-out post mới vào timeline của followers, tách khỏi job xoá account
+ * (job chạy hàng phút không được làm trễ timeline)
+ *
+ * 📚 VIRTUAL THREADS (spring.threads.virtual.enabled=true):
+ * - Worker của 2 executor là virtual thread (queue + giới hạn song song giữ nguyên)
+ * - @Async / @Scheduled (CleanupSchedulerService, ...) do Spring Boot tự chuyển sang virtual threads
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean(name = "backgroundTaskExecutor")
+    public TaskExecutor backgroundTaskExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("bg-job-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Giữ queue + giới hạn 2 worker, chỉ đổi worker sang virtual thread
+            executor.setThreadFactory(Thread.ofVirtual().name("bg-job-", 0).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "timelineFanOutExecutor")
+    public TaskExecutor timelineFanOutExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("timeline-fanout-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(Thread.ofVirtual().name("timeline-fanout-", 0).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
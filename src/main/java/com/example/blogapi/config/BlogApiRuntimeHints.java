@@ -0,0 +1,110 @@
+package com.example.blogapi.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.example.blogapi.config.logging.CountingAsyncAppender;
+import com.example.blogapi.config.logging.SamplingTurboFilter;
+
+/**
+ * Reflection + resource hints cho native image (profile "native")
+ *
+ * 🎯 Spring AOT tự sinh hints cho bean, @ConfigurationProperties, JPA managed types.
+ * Phần còn lại app phải khai báo:
+ * - Entity / DTO / MapStruct mapper / projection record (ResourceOwner): Hibernate + Jackson dùng reflection
+ * - DTO trong Redis cache: RedisConfig bật default typing → Jackson tạo class theo tên "@class"
+ * - JJWT: jjwt-api load implementation bằng Class.forName + ServiceLoader
+ * - Logback: logback-spring.xml khởi tạo appender/filter custom theo tên class
+ * - Flyway: file migration đọc từ classpath
+ *
+ * 📚 Package được scan LÚC BUILD (registrar chạy trên JVM trong process-aot)
+ * → thêm entity/DTO mới không cần sửa file này
+ */
+public class BlogApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String BASE_PACKAGE = "com.example.blogapi";
+
+    private static final MemberCategory[] DATA_CLASS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // ========== Entity, DTO, mapper, projection ==========
+        for (String pkg : List.of("entity", "dto", "mapper", "repository")) {
+            for (String className : scan(BASE_PACKAGE + "." + pkg, classLoader)) {
+                hints.reflection().registerType(TypeReference.of(className), DATA_CLASS);
+            }
+        }
+
+        // ========== Kiểu Spring Data nằm trong cache (Page<CommentResponse>) ==========
+        for (Class<?> type : List.of(PageImpl.class, PageRequest.class, Sort.class, Sort.Order.class,
+                Sort.Direction.class, Sort.NullHandling.class)) {
+            hints.reflection().registerType(type, DATA_CLASS);
+        }
+
+        // ========== JJWT ==========
+        for (String className : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerTypeIfPresent(classLoader, className,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // ========== Logback custom appender / turbo filter ==========
+        for (Class<?> type : List.of(CountingAsyncAppender.class, SamplingTurboFilter.class)) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // ========== Flyway migrations ==========
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+
+    /**
+     * Mọi class top-level/nested static trong package (kể cả interface, abstract, record)
+     */
+    private static List<String> scan(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Cấu hình adaptive concurrency limit (app.concurrency-limit)
+ *
+ * 📚 MỖI NHÓM ROUTE (read / write / admin) có limit riêng:
+ * - initial-limit: limit lúc khởi động
+ * - min-limit / max-limit: biên mà thuật toán gradient được điều chỉnh trong đó
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+@Data
+@Validated
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Tỉ lệ cập nhật limit mỗi sample (0-1): nhỏ → ổn định, lớn → phản ứng nhanh
+    @DecimalMin("0.01")
+    @DecimalMax("1.0")
+    private double smoothing = 0.2;
+
+    // Giá trị Retry-After khi request bị shed
+    @NotNull
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Valid
+    private Limit read = new Limit(100, 10, 400);
+
+    @Valid
+    private Limit write = new Limit(40, 5, 100);
+
+    @Valid
+    private Limit admin = new Limit(4, 1, 8);
+
+    @Data
+    public static class Limit {
+        @Positive(message = "Concurrency initial-limit phải là số dương")
+        private int initialLimit;
+
+        @Positive(message = "Concurrency min-limit phải là số dương")
+        private int minLimit;
+
+        @Positive(message = "Concurrency max-limit phải là số dương")
+        private int maxLimit;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
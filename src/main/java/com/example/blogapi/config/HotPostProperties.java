@@ -0,0 +1,53 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Cấu hình bảng xếp hạng "hot right now" trong memory (app.hot-posts)
+ *
+ * 📚 Score = Σ weight * 2^(-tuổi / half-life) trên mọi view + comment
+ * (khác trending: materialized view tính lại từ SQL theo cửa sổ 48h)
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.hot-posts")
+@Data
+@Validated
+public class HotPostProperties {
+
+    private boolean enabled = true;
+
+    @NotNull
+    private Duration halfLife = Duration.ofHours(6);
+
+    // Số post giữ trong top-K (limit của API tối đa bằng giá trị này)
+    @Positive(message = "Hot posts top-k phải là số dương")
+    private int topK = 100;
+
+    @Positive(message = "Hot posts view-weight phải là số dương")
+    private double viewWeight = 1;
+
+    @Positive(message = "Hot posts comment-weight phải là số dương")
+    private double commentWeight = 3;
+
+    // Post có score hiện tại thấp hơn bị dọn khỏi memory mỗi lần snapshot
+    @Positive(message = "Hot posts min-score phải là số dương")
+    private double minScore = 0.05;
+
+    // Số post ghi vào snapshot Redis (nhiều hơn top-K để post sát ngưỡng không mất sau restart)
+    @Positive(message = "Hot posts snapshot-size phải là số dương")
+    private int snapshotSize = 1000;
+
+    // Snapshot cũ hơn khoảng này không được dùng để warm-up
+    @NotNull
+    private Duration snapshotTtl = Duration.ofDays(1);
+}
@@ -18,6 +18,18 @@ public class JwtProperties {
     @NotBlank(message = "JWT secret key không được để trống")
     private String secret;
 
+    // Access token ngắn hạn (ms) - client dùng refresh token để lấy token mới
     @Positive(message = "JWT expiration time phải là số dương")
     private long expiration;
+
+    // Refresh token (ms), xoay vòng mỗi lần dùng
+    @Positive(message = "Refresh token expiration phải là số dương")
+    private long refreshExpiration = 1_209_600_000L;
+
+    // Số token đã verify tối đa giữ trong cache (VerifiedTokenCache)
+    @Positive(message = "JWT verified cache size phải là số dương")
+    private long verifiedCacheSize = 10_000;
+
+    // Stateless mode: dựng Authentication từ claims uid/role, không load user từ DB
+    private boolean stateless = false;
 }
@@ -0,0 +1,84 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Cấu hình rate limit theo route (app.rate-limit)
+ *
+ * 📚 MỖI POLICY:
+ * - method + path (PathPattern, vd: /api/v1/posts/{postId}/comments)
+ * - key: USER (username, anonymous → IP) hoặc IP
+ * - token bucket: capacity (burst) + refill-tokens mỗi refill-period
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+@Validated
+public class RateLimitProperties {
+
+    public enum Store {
+        LOCAL, REDIS
+    }
+
+    public enum KeyType {
+        USER, IP
+    }
+
+    private boolean enabled = true;
+
+    // LOCAL: bucket trong từng node; REDIS: giới hạn chung cho cả cluster
+    @NotNull
+    private Store store = Store.LOCAL;
+
+    // Bucket không được dùng lâu hơn thời gian này sẽ bị dọn khỏi bộ nhớ
+    @NotNull
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Valid
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        @NotBlank(message = "Rate limit policy phải có name")
+        private String name;
+
+        // null = mọi HTTP method
+        private String method;
+
+        @NotBlank(message = "Rate limit policy phải có path")
+        private String path;
+
+        @NotNull
+        private KeyType key = KeyType.USER;
+
+        @Positive(message = "Rate limit capacity phải là số dương")
+        private long capacity;
+
+        @Positive(message = "Rate limit refill-tokens phải là số dương")
+        private long refillTokens;
+
+        @NotNull
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Tốc độ nạp token (token / nano giây)
+         */
+        public double refillRatePerNanos() {
+            return (double) refillTokens / refillPeriod.toNanos();
+        }
+    }
+}
@@ -2,21 +2,29 @@ package com.example.blogapi.config;
 
 import java.time.Duration;
 
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.example.blogapi.security.TokenRevocationStore;
+import com.example.blogapi.security.UserDetailsCache;
+import com.example.blogapi.security.UserRevocationRegistry;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
@@ -103,9 +111,42 @@ public class RedisConfig implements CachingConfigurer {
                 builder.withCacheConfiguration("searchResults",
                                 defaultConfig.entryTtl(Duration.ofMinutes(2)));
 
+                // Trending posts: 1 entry (top N), sống tới lần refresh materialized view kế tiếp
+                builder.withCacheConfiguration("trendingPosts",
+                                defaultConfig.entryTtl(Duration.ofMinutes(5)));
+
                 return builder.build();
         }
 
+        /**
+         * Pub/sub listener: đồng bộ principal cache + revocation sets giữa các node
+         */
+        @Bean
+        public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                        UserDetailsCache userDetailsCache, UserRevocationRegistry userRevocationRegistry,
+                        TokenRevocationStore tokenRevocationStore, Environment environment) {
+                // Redis down lúc khởi động không được làm app fail → RedisListenerStarter start + retry
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+                        @Override
+                        public boolean isAutoStartup() {
+                                return false;
+                        }
+                };
+                container.setConnectionFactory(connectionFactory);
+                if (Threading.VIRTUAL.isActive(environment)) {
+                        // Mặc định mỗi message chạy trên 1 platform thread mới
+                        SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("redis-listener-");
+                        listenerExecutor.setVirtualThreads(true);
+                        container.setTaskExecutor(listenerExecutor);
+                }
+                container.addMessageListener(userDetailsCache, new ChannelTopic(UserDetailsCache.INVALIDATION_CHANNEL));
+                container.addMessageListener(userRevocationRegistry,
+                                new ChannelTopic(UserRevocationRegistry.REVOCATION_CHANNEL));
+                container.addMessageListener(tokenRevocationStore,
+                                new ChannelTopic(TokenRevocationStore.REVOCATION_CHANNEL));
+                return container;
+        }
+
         /**
          * Register CustomCacheErrorHandler for graceful degradation.
          * When Redis is down, the app continues to work by falling back to DB queries.
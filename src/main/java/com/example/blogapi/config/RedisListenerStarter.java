@@ -0,0 +1,48 @@
+package com.example.blogapi.config;
+
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.blogapi.security.TokenRevocationStore;
+import com.example.blogapi.security.UserRevocationRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Start RedisMessageListenerContainer ngoài lifecycle khởi động của context
+ *
+ * 🎯 TẠI SAO:
+ * - Container auto-start sẽ subscribe ngay → Redis down thì cả app không lên
+ * - Giống CustomCacheErrorHandler: Redis lỗi chỉ làm mất đồng bộ giữa các node
+ * (entry local vẫn hết hạn theo TTL), không được chặn request
+ * - Đã chạy rồi thì container tự reconnect khi mất kết nối
+ *
+ * ⚠️ Revocation publish trước lúc subscribe xong bị lỡ → đọc lại trạng thái từ Redis sau khi start
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisListenerStarter {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    @Scheduled(initialDelay = 0, fixedDelay = 30_000)
+    public void ensureStarted() {
+        if (redisMessageListenerContainer.isRunning()) {
+            return;
+        }
+        try {
+            redisMessageListenerContainer.start();
+            log.info("Redis pub/sub listener started");
+            userRevocationRegistry.loadFromRedis();
+            tokenRevocationStore.loadFromRedis();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Redis pub/sub listener could not start: {}. Retrying in 30s.", e.getMessage());
+            redisMessageListenerContainer.stop();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Cấu hình cache response JSON đã serialize cho GET anonymous (app.response-cache)
+ *
+ * 📚 Entry nằm trong memory từng node, key gồm list generation (Redis)
+ * → dữ liệu thay đổi là key đổi ngay, ttl chỉ giới hạn độ trễ của viewerCount / "recent"
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.response-cache")
+@Data
+@Validated
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    @NotNull
+    private Duration ttl = Duration.ofSeconds(30);
+
+    // Tổng dung lượng body (bản thường + gzip) được giữ trong memory
+    @NotNull
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Response lớn hơn không được cache (trang quá lớn hiếm khi được đọc lại y hệt)
+    @NotNull
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+    // Body nhỏ hơn không nén: gzip header + CPU không đáng
+    @NotNull
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
@@ -1,5 +1,6 @@
 package com.example.blogapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,11 +17,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.example.blogapi.security.BoundedPasswordEncoder;
+import com.example.blogapi.security.ConcurrencyLimitFilter;
 import com.example.blogapi.security.CustomAccessDeniedHandler;
 import com.example.blogapi.security.CustomAuthenticationEntryPoint;
 import com.example.blogapi.security.JwtAuthenticationFilter;
+import com.example.blogapi.security.RateLimitFilter;
+import com.example.blogapi.security.ResponseCacheFilter;
 import com.example.blogapi.service.CustomUserDetailsService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -29,21 +35,34 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final RateLimitFilter rateLimitFilter;
+        private final ConcurrencyLimitFilter concurrencyLimitFilter;
+        private final ResponseCacheFilter responseCacheFilter;
         private final CustomUserDetailsService userDetailsService;
 
         private final CustomAuthenticationEntryPoint authenticationEntryPoint;
         private final CustomAccessDeniedHandler accessDeniedHandler;
 
+        /**
+         * BCrypt chạy trên pool riêng (số thread = số core), queue đầy → 503
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                        @Value("${app.security.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+                        @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+                        @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+                int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+                return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads, queueCapacity,
+                                meterRegistry);
         }
 
         @Bean
-        public AuthenticationProvider authenticationProvider() {
+        public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
                 DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
                 authProvider.setUserDetailsService(userDetailsService);
-                authProvider.setPasswordEncoder(passwordEncoder());
+                authProvider.setPasswordEncoder(passwordEncoder);
+                // Hash cũ có cost thấp hơn cấu hình → re-hash sau khi login thành công
+                authProvider.setUserDetailsPasswordService(userDetailsService);
                 return authProvider;
         }
 
@@ -53,7 +72,8 @@ public class SecurityConfig {
         }
 
         @Bean
-        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
+                        throws Exception {
                 http.csrf(csrf -> csrf.ignoringRequestMatchers("/h2-console/**"))
                                 .csrf(csrf -> csrf.disable())
                                 .headers(headers -> headers
@@ -72,6 +92,7 @@ public class SecurityConfig {
                                                                 "/swagger-ui.html",
                                                                 "/swagger-ui/**", // Swagger UI
                                                                 "/v3/api-docs/**", // OpenAPI docs
+                                                                "/openapi.json", // OpenAPI docs (static, prod)
                                                                 "/swagger-resources/**",
                                                                 "/configuration/**",
                                                                 "/webjars/**")
@@ -94,8 +115,14 @@ public class SecurityConfig {
                                 .exceptionHandling(exceptions -> exceptions
                                                 .authenticationEntryPoint(authenticationEntryPoint)
                                                 .accessDeniedHandler(accessDeniedHandler))
-                                .authenticationProvider(authenticationProvider())
-                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                                .authenticationProvider(authenticationProvider)
+                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                                // Shed request quá tải trước khi tốn CPU cho verify JWT
+                                .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+                                // Sau JWT filter → policy key USER biết được user hiện tại
+                                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                                // HIT vẫn bị tính rate limit; chỉ GET anonymous trên route public
+                                .addFilterAfter(responseCacheFilter, RateLimitFilter.class);
                 return http.build();
         }
 }
\ No newline at end of file
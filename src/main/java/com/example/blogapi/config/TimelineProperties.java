@@ -0,0 +1,48 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Cấu hình home timeline (app.timeline)
+ *
+ * 📚 FAN-OUT:
+ * - Author có follower_count < celebrity-threshold: post ID được đẩy vào timeline
+ * (Redis ZSET) của từng follower lúc tạo post
+ * - Author vượt ngưỡng: không fan-out, timeline đọc post của họ lúc đọc
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.timeline")
+@Data
+@Validated
+public class TimelineProperties {
+
+    // Số post ID tối đa giữ trong timeline của mỗi user (cũ hơn → bị cắt)
+    @Positive(message = "Timeline max-size phải là số dương")
+    private int maxSize = 500;
+
+    @Positive(message = "Timeline celebrity-threshold phải là số dương")
+    private long celebrityThreshold = 10_000;
+
+    // Timeline không được đọc trong khoảng này sẽ hết hạn → không fan-out vào user không hoạt động
+    @NotNull
+    private Duration ttl = Duration.ofDays(3);
+
+    // Số follower mỗi lần query + mỗi lần gọi Lua script khi fan-out
+    @Positive(message = "Timeline fan-out-batch-size phải là số dương")
+    @Max(value = 5000, message = "Timeline fan-out-batch-size tối đa 5000")
+    private int fanOutBatchSize = 1000;
+
+    @Positive(message = "Timeline max-page-size phải là số dương")
+    private int maxPageSize = 50;
+}
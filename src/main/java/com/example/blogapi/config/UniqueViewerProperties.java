@@ -0,0 +1,43 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Cấu hình đếm người xem duy nhất bằng Redis HyperLogLog (app.unique-viewers)
+ *
+ * 📚 View gom trong memory rồi PFADD theo lịch (flush-interval-ms),
+ * số đếm đọc từ PFCOUNT và cache local trong count-ttl
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "app.unique-viewers")
+@Data
+@Validated
+public class UniqueViewerProperties {
+
+    private boolean enabled = true;
+
+    // Trần số visitor đang chờ flush (mọi post cộng lại), vượt → bỏ qua view
+    @Positive(message = "Unique viewers max-pending phải là số dương")
+    private int maxPending = 100_000;
+
+    @NotNull
+    private Duration countTtl = Duration.ofSeconds(30);
+
+    @Positive(message = "Unique viewers count-cache-size phải là số dương")
+    private long countCacheSize = 10_000;
+
+    // Trộn vào hash IP + User-Agent của anonymous → Redis không giữ IP thô
+    @NotBlank(message = "Unique viewers fingerprint-salt không được để trống")
+    private String fingerprintSalt;
+}
@@ -0,0 +1,70 @@
+package com.example.blogapi.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cấu hình riêng cho chế độ virtual threads (spring.threads.virtual.enabled=true)
+ *
+ * 🎯 Spring Boot tự chuyển sang virtual threads:
+ * - Tomcat request handling
+ * - @Async (applicationTaskExecutor) và @Scheduled (SimpleAsyncTaskScheduler)
+ *
+ * 📚 PHẦN CỦA APP:
+ * - backgroundTaskExecutor (AsyncConfig), Redis listener (RedisConfig) honor cùng switch
+ * - DataSource được bọc bởi ConnectionLimitingDataSource
+ *
+ * ⚠️ PINNING AUDIT (Java 21 pin carrier khi block trong synchronized):
+ * - Code app không dùng synchronized; state dùng CAS/ConcurrentHashMap/LongAdder
+ * - UserDetailsCache, UniqueViewerService: load principal (JDBC) / PFCOUNT chạy NGOÀI lock của Caffeine
+ * - PostgreSQL JDBC 42.7 (Boot managed) dùng ReentrantLock, HikariCP 5 không synchronized khi chờ
+ * - BCrypt (BoundedPasswordEncoder) giữ platform pool: CPU-bound, virtual thread không lợi gì
+ * - Kiểm tra lại khi nâng cấp thư viện: -Djdk.tracePinnedThreads=short
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Bọc HikariDataSource bằng connection limiter
+     *
+     * ⚠️ static: BeanPostProcessor phải được tạo trước các bean khác
+     */
+    @Bean
+    static BeanPostProcessor connectionLimiterPostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int configuredMax = binder.bind("app.datasource.limiter.max-concurrent", Integer.class).orElse(0);
+        Duration acquireTimeout = binder.bind("app.datasource.limiter.acquire-timeout", Duration.class)
+                .orElse(Duration.ofSeconds(2));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // 0 = bằng maximum-pool-size: chờ ở semaphore (fair, timeout ngắn) thay vì trong Hikari
+                // (chưa set → -1 đến khi pool start, Hikari dùng mặc định 10)
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                int maxConcurrent = configuredMax > 0 ? configuredMax : poolSize;
+                log.info("Virtual threads enabled - limiting DataSource '{}' to {} concurrent connections (timeout {})",
+                        beanName, maxConcurrent, acquireTimeout);
+                return new ConnectionLimitingDataSource(hikari, maxConcurrent, acquireTimeout);
+            }
+        };
+    }
+}
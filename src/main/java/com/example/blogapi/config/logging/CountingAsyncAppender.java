@@ -0,0 +1,51 @@
+package com.example.blogapi.config.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender có đếm số event bị drop
+ *
+ * 🎯 TẠI SAO:
+ * - Request thread chỉ đẩy event vào ring buffer có giới hạn, I/O chạy trên worker thread
+ * - AsyncAppender gốc drop event im lặng (neverBlock / discardingThreshold)
+ * → không biết đang mất bao nhiêu log
+ *
+ * 📚 CHÍNH SÁCH DROP (giống AsyncAppender gốc):
+ * - Queue còn ít hơn discardingThreshold → drop TRACE/DEBUG/INFO, giữ WARN/ERROR
+ * - Queue đầy + neverBlock → drop mọi level (request thread không bao giờ bị chặn bởi logging)
+ *
+ * 📊 Counter theo level được {@link LoggingMetrics} publish thành metric {@code logging.async.dropped}
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    static final LongAdder DROPPED_DISCARDABLE = new LongAdder();
+    static final LongAdder DROPPED_IMPORTANT = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            DROPPED_DISCARDABLE.increment();
+            return;
+        }
+        // ⚠️ Check rồi offer không atomic: vài event đúng lúc queue đầy có thể drop mà không đếm
+        if (remaining == 0 && isNeverBlock()) {
+            countDropped(event);
+            return;
+        }
+        super.append(event);
+    }
+
+    private static void countDropped(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            DROPPED_IMPORTANT.increment();
+        } else {
+            DROPPED_DISCARDABLE.increment();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.blogapi.config.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publish trạng thái logging pipeline lên Micrometer
+ *
+ * 📊 METRICS:
+ * - logging.async.dropped{level=discardable|important}: event bị drop ở ring buffer
+ * - logging.sampled.out: event bị {@link SamplingTurboFilter} loại
+ * - logging.async.queue.remaining: chỗ trống còn lại của ring buffer
+ *
+ * ⚠️ Logback khởi tạo trước Spring context → counter là static trong appender/filter,
+ * bean này chỉ đọc ra
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.async.dropped", CountingAsyncAppender.DROPPED_DISCARDABLE,
+                adder -> adder.sum())
+                .tag("level", "discardable")
+                .register(registry);
+        FunctionCounter.builder("logging.async.dropped", CountingAsyncAppender.DROPPED_IMPORTANT,
+                adder -> adder.sum())
+                .tag("level", "important")
+                .register(registry);
+        FunctionCounter.builder("logging.sampled.out", SamplingTurboFilter.SAMPLED_OUT, adder -> adder.sum())
+                .register(registry);
+
+        CountingAsyncAppender appender = findAsyncAppender();
+        if (appender != null) {
+            Gauge.builder("logging.async.queue.remaining", appender, CountingAsyncAppender::getRemainingCapacity)
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+
+    private static CountingAsyncAppender findAsyncAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext();) {
+            if (it.next() instanceof CountingAsyncAppender async) {
+                return async;
+            }
+        }
+        return null;
+    }
+}
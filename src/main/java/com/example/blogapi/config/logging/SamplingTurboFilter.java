@@ -0,0 +1,120 @@
+package com.example.blogapi.config.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Sampling cho log hot-path (JWT filter, read path của service, ...)
+ *
+ * 🎯 TẠI SAO:
+ * - Mỗi request ghi nhiều dòng INFO → format + I/O chiếm CPU đáng kể khi tải cao
+ * - TurboFilter chạy TRƯỚC khi tạo LoggingEvent → event bị loại không tốn gì thêm
+ *
+ * 📚 CƠ CHẾ (theo từng câu log, key = message template):
+ * - Mỗi cửa sổ 1 giây: {@code burst} event đầu tiên luôn được ghi
+ * - Vượt burst → chỉ ghi 1 trên {@code sampleRate} event
+ * → câu log hiếm (create/delete) gần như không bị mất, câu log mỗi request bị thưa bớt
+ *
+ * ⚠️ WARN/ERROR không bao giờ bị sample
+ *
+ * Config trong logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.example.blogapi.config.logging.SamplingTurboFilter"&gt;
+ *     &lt;logger&gt;com.example.blogapi.service&lt;/logger&gt;
+ *     &lt;burst&gt;20&lt;/burst&gt;
+ *     &lt;sampleRate&gt;100&lt;/sampleRate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /** Tổng event bị loại bởi sampling (đọc bởi {@link LoggingMetrics}) */
+    static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private int burst = 20;
+    private int sampleRate = 100;
+
+    public void addLogger(String loggerPrefix) {
+        loggers.add(loggerPrefix);
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void start() {
+        if (sampleRate < 1 || burst < 0) {
+            addError("sampleRate phải >= 1 và burst phải >= 0");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        // Level bị tắt → để logback tự loại, không tính vào cửa sổ
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.computeIfAbsent(format, key -> new Window());
+        if (window.admit(System.nanoTime(), burst, sampleRate)) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.increment();
+        return FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bộ đếm cửa sổ 1 giây cho 1 message template
+     *
+     * ⚡ Lock-free: reset cửa sổ bằng CAS, vài event lệch biên cửa sổ là chấp nhận được
+     */
+    static final class Window {
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicLong count = new AtomicLong();
+
+        boolean admit(long now, int burst, int sampleRate) {
+            long start = windowStart.get();
+            if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                count.set(0);
+            }
+            long n = count.incrementAndGet();
+            return n <= burst || (n - burst) % sampleRate == 0;
+        }
+    }
+}
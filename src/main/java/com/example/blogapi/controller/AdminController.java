@@ -4,19 +4,29 @@ import java.time.LocalDateTime;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.blogapi.dto.request.UserRoleUpdateRequest;
 import com.example.blogapi.dto.response.ApiResponse;
+import com.example.blogapi.dto.response.UserResponse;
+import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.service.CleanupSchedulerService;
 import com.example.blogapi.service.CleanupSchedulerService.CleanupStats;
+import com.example.blogapi.service.UserDeletionJobService;
+import com.example.blogapi.service.UserDeletionJobService.UserDeletionJob;
+import com.example.blogapi.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -26,6 +36,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 public class AdminController {
 
     private final CleanupSchedulerService cleanupSchedulerService;
+    private final UserDeletionJobService userDeletionJobService;
+    private final UserService userService;
 
     /**
      * Trigger manual cleanup
@@ -83,4 +95,44 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Theo dõi progress của job xoá account lớn
+     */
+    @GetMapping("/user-deletions/{jobId}")
+    @Operation(summary = "Progress job xoá user", description = "Trạng thái và số posts/comments đã xoá của job async")
+    public ResponseEntity<ApiResponse<UserDeletionJob>> getUserDeletionJob(@PathVariable String jobId) {
+        UserDeletionJob job = userDeletionJobService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy deletion job với ID: " + jobId));
+
+        ApiResponse<UserDeletionJob> response = ApiResponse.<UserDeletionJob>builder()
+                .success(true)
+                .message("Deletion job " + job.getStatus())
+                .data(job)
+                .timestamp(LocalDateTime.now())
+                .statusCode(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Đổi role user (invalidate principal cache trên mọi node)
+     */
+    @PutMapping("/users/{id}/role")
+    @Operation(summary = "Đổi role user", description = "ROLE_USER hoặc ROLE_ADMIN, có hiệu lực ngay với các request tiếp theo")
+    public ResponseEntity<ApiResponse<UserResponse>> changeUserRole(@PathVariable Long id,
+            @Valid @RequestBody UserRoleUpdateRequest request) {
+        UserResponse user = userService.changeUserRole(id, request.getRole());
+
+        ApiResponse<UserResponse> response = ApiResponse.<UserResponse>builder()
+                .success(true)
+                .message("User role updated to " + request.getRole())
+                .data(user)
+                .timestamp(LocalDateTime.now())
+                .statusCode(200)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
 }
@@ -10,12 +10,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.blogapi.dto.request.CommentCreateRequest;
 import com.example.blogapi.dto.request.CommentUpdateRequest;
 import com.example.blogapi.dto.response.ApiResponse;
 import com.example.blogapi.dto.response.CommentResponse;
 import com.example.blogapi.service.CommentService;
+import com.example.blogapi.service.ListGenerationService;
+import com.example.blogapi.util.ETagUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Comment APIs", description = "API để quản lý bình luận")
 public class CommentController {
     private final CommentService commentService;
+    private final ListGenerationService listGenerationService;
 
     @PostMapping
     @Operation(summary = "Tạo comment mới cho post")
@@ -53,7 +57,16 @@ public class CommentController {
 
             @Parameter(description = "Sắp xếp theo", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
 
-            @Parameter(description = "Hướng sắp xếp", example = "desc") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Hướng sắp xếp", example = "desc") @RequestParam(defaultValue = "desc") String sortDir,
+
+            WebRequest webRequest) {
+
+        // Đọc generation TRƯỚC khi query: comment mới trên post khác không làm đổi ETag
+        String etag = listGenerationService.etag(ListGenerationService.COMMENTS,
+                ListGenerationService.commentsOf(postId));
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
@@ -80,7 +93,7 @@ public class CommentController {
                 .statusCode(200)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
     }
 
     @PutMapping("/{commentId}")
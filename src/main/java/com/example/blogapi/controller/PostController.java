@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,15 +15,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import com.example.blogapi.dto.request.PostCreateRequest;
 import com.example.blogapi.dto.response.ApiResponse;
 import com.example.blogapi.dto.response.PostResponse;
+import com.example.blogapi.dto.response.HotPostResponse;
+import com.example.blogapi.dto.response.TrendingPostResponse;
 import com.example.blogapi.dto.request.PostUpdateRequest;
+import com.example.blogapi.repository.PostField;
+import com.example.blogapi.service.HotPostService;
+import com.example.blogapi.service.ListGenerationService;
 import com.example.blogapi.service.PostService;
+import com.example.blogapi.service.PostViewService;
+import com.example.blogapi.service.TrendingPostService;
+import com.example.blogapi.service.UniqueViewerService;
+import com.example.blogapi.util.ETagUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -38,6 +50,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class PostController {
 
         private final PostService postService;
+        private final TrendingPostService trendingPostService;
+        private final HotPostService hotPostService;
+        private final UniqueViewerService uniqueViewerService;
+        private final PostViewService postViewService;
+        private final ListGenerationService listGenerationService;
 
         @PostMapping
         @Operation(summary = "Tạo bài viết mới")
@@ -49,21 +66,36 @@ public class PostController {
 
         @GetMapping
         @Operation(summary = "Lấy danh sách posts với phân trang và sắp xếp", description = "Hỗ trợ phân trang, sắp xếp theo nhiều field. Default: page=0, size=10, sort=createdAt,desc")
-        public ResponseEntity<ApiResponse<List<PostResponse>>> getAllPosts(
+        public ResponseEntity<ApiResponse<List<?>>> getAllPosts(
                         @Parameter(description = "Số trang (bắt đầu từ 0)", example = "0") @RequestParam(defaultValue = "0") int page,
 
                         @Parameter(description = "Số lượng items mỗi trang", example = "10") @RequestParam(defaultValue = "10") int size,
 
                         @Parameter(description = "Sắp xếp theo field (có thể nhiều field cách nhau bởi dấu phẩy)", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
 
-                        @Parameter(description = "Hướng sắp xếp: asc hoặc desc", example = "desc") @RequestParam(defaultValue = "desc") String sortDir) {
+                        @Parameter(description = "Hướng sắp xếp: asc hoặc desc", example = "desc") @RequestParam(defaultValue = "desc") String sortDir,
+
+                        @Parameter(description = "Chỉ trả các field này (id luôn có), vd: title,excerpt,authorUsername") @RequestParam(required = false) List<String> fields,
+
+                        @Parameter(description = "full (mặc định) hoặc summary: id, title, excerpt, authorUsername, createdAt, updatedAt", example = "summary") @RequestParam(defaultValue = PostField.VIEW_FULL) String view,
+                        WebRequest webRequest) {
+
+                // Đọc generation TRƯỚC khi query: khớp → 304, không chạm DB
+                String etag = listGenerationService.etag(ListGenerationService.POSTS);
+                if (etag != null && webRequest.checkNotModified(etag)) {
+                        return null;
+                }
 
                 Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending()
                                 : Sort.by(sortBy).descending();
 
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                Page<PostResponse> postPage = postService.getAllPosts(pageable);
+                // fields / view=summary → chỉ SELECT các cột cần trả
+                List<PostField> selection = PostField.resolve(fields, view);
+                Page<?> postPage = selection != null
+                                ? postService.getAllPostFields(selection, pageable)
+                                : postService.getAllPosts(pageable);
 
                 ApiResponse.PageMetadata pageMetaData = ApiResponse.PageMetadata.builder()
                                 .currentPage(postPage.getNumber())
@@ -74,7 +106,7 @@ public class PostController {
                                 .hasPrevious(postPage.hasPrevious())
                                 .build();
 
-                ApiResponse<List<PostResponse>> response = ApiResponse.<List<PostResponse>>builder()
+                ApiResponse<List<?>> response = ApiResponse.<List<?>>builder()
                                 .success(true)
                                 .message("Fetched posts successfully")
                                 .data(postPage.getContent())
@@ -83,12 +115,12 @@ public class PostController {
                                 .statusCode(200)
                                 .build();
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
         }
 
         @GetMapping("/search")
         @Operation(summary = "Tìm kiếm posts theo keyword", description = "Tìm kiếm theo title và content của post")
-        public ResponseEntity<ApiResponse<List<PostResponse>>> searchPosts(
+        public ResponseEntity<ApiResponse<List<?>>> searchPosts(
                         @Parameter(description = "Từ khóa tìm kiếm", example = "Spring Boot", required = true) @RequestParam String keyword,
 
                         @Parameter(description = "Số trang", example = "0") @RequestParam(defaultValue = "0") int page,
@@ -97,14 +129,27 @@ public class PostController {
 
                         @Parameter(description = "Sắp xếp theo", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
 
-                        @Parameter(description = "Hướng sắp xếp", example = "desc") @RequestParam(defaultValue = "desc") String sortDir) {
+                        @Parameter(description = "Hướng sắp xếp", example = "desc") @RequestParam(defaultValue = "desc") String sortDir,
+
+                        @Parameter(description = "Chỉ trả các field này (id luôn có), vd: title,excerpt,authorUsername") @RequestParam(required = false) List<String> fields,
+
+                        @Parameter(description = "full (mặc định) hoặc summary: id, title, excerpt, authorUsername, createdAt, updatedAt", example = "summary") @RequestParam(defaultValue = PostField.VIEW_FULL) String view,
+                        WebRequest webRequest) {
+
+                String etag = listGenerationService.etag(ListGenerationService.POSTS);
+                if (etag != null && webRequest.checkNotModified(etag)) {
+                        return null;
+                }
 
                 Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending()
                                 : Sort.by(sortBy).descending();
 
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                Page<PostResponse> postPage = postService.searchPosts(keyword, pageable);
+                List<PostField> selection = PostField.resolve(fields, view);
+                Page<?> postPage = selection != null
+                                ? postService.searchPostFields(keyword, selection, pageable)
+                                : postService.searchPosts(keyword, pageable);
 
                 ApiResponse.PageMetadata pageMetadata = ApiResponse.PageMetadata.builder()
                                 .currentPage(postPage.getNumber())
@@ -115,7 +160,7 @@ public class PostController {
                                 .hasPrevious(postPage.hasPrevious())
                                 .build();
 
-                ApiResponse<List<PostResponse>> response = ApiResponse.<List<PostResponse>>builder()
+                ApiResponse<List<?>> response = ApiResponse.<List<?>>builder()
                                 .success(true)
                                 .message(String.format("Found %d posts matching '%s'", postPage.getTotalElements(),
                                                 keyword))
@@ -124,25 +169,38 @@ public class PostController {
                                 .timestamp(LocalDateTime.now())
                                 .statusCode(200)
                                 .build();
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
         }
 
         @GetMapping("/user/{userId}")
         @Operation(summary = "Lấy tất cả posts của một user")
-        public ResponseEntity<ApiResponse<List<PostResponse>>> getPostsByUserId(
+        public ResponseEntity<ApiResponse<List<?>>> getPostsByUserId(
                         @Parameter(description = "ID của user", required = true) @PathVariable Long userId,
 
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(defaultValue = "createdAt") String sortBy,
-                        @RequestParam(defaultValue = "desc") String sortDir) {
+                        @RequestParam(defaultValue = "desc") String sortDir,
+
+                        @Parameter(description = "Chỉ trả các field này (id luôn có), vd: title,excerpt,authorUsername") @RequestParam(required = false) List<String> fields,
+
+                        @Parameter(description = "full (mặc định) hoặc summary: id, title, excerpt, authorUsername, createdAt, updatedAt", example = "summary") @RequestParam(defaultValue = PostField.VIEW_FULL) String view,
+                        WebRequest webRequest) {
+
+                String etag = listGenerationService.etag(ListGenerationService.POSTS);
+                if (etag != null && webRequest.checkNotModified(etag)) {
+                        return null;
+                }
 
                 Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending()
                                 : Sort.by(sortBy).descending();
 
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                Page<PostResponse> postPage = postService.getPostsByUserId(userId, pageable);
+                List<PostField> selection = PostField.resolve(fields, view);
+                Page<?> postPage = selection != null
+                                ? postService.getPostFieldsByUserId(userId, selection, pageable)
+                                : postService.getPostsByUserId(userId, pageable);
 
                 ApiResponse.PageMetadata pageMetadata = ApiResponse.PageMetadata.builder()
                                 .currentPage(postPage.getNumber())
@@ -153,7 +211,7 @@ public class PostController {
                                 .hasPrevious(postPage.hasPrevious())
                                 .build();
 
-                ApiResponse<List<PostResponse>> response = ApiResponse.<List<PostResponse>>builder()
+                ApiResponse<List<?>> response = ApiResponse.<List<?>>builder()
                                 .success(true)
                                 .message("Fetched user posts successfully")
                                 .data(postPage.getContent())
@@ -161,21 +219,27 @@ public class PostController {
                                 .timestamp(LocalDateTime.now())
                                 .statusCode(200)
                                 .build();
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
         }
 
         @GetMapping("/recent")
         @Operation(summary = "Lấy các posts gần đây")
-        public ResponseEntity<ApiResponse<List<PostResponse>>> getRecentPosts(
+        public ResponseEntity<ApiResponse<List<?>>> getRecentPosts(
                         @Parameter(description = "Số ngày gần đây", example = "7") @RequestParam(defaultValue = "7") int days,
 
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "10") int size
+                        @RequestParam(defaultValue = "10") int size,
+
+                        @Parameter(description = "Chỉ trả các field này (id luôn có), vd: title,excerpt,authorUsername") @RequestParam(required = false) List<String> fields,
 
+                        @Parameter(description = "full (mặc định) hoặc summary: id, title, excerpt, authorUsername, createdAt, updatedAt", example = "summary") @RequestParam(defaultValue = PostField.VIEW_FULL) String view
         ) {
 
                 Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-                Page<PostResponse> postPage = postService.getRecentPosts(days, pageable);
+                List<PostField> selection = PostField.resolve(fields, view);
+                Page<?> postPage = selection != null
+                                ? postService.getRecentPostFields(days, selection, pageable)
+                                : postService.getRecentPosts(days, pageable);
 
                 ApiResponse.PageMetadata pageMetadata = ApiResponse.PageMetadata.builder()
                                 .currentPage(postPage.getNumber())
@@ -186,7 +250,7 @@ public class PostController {
                                 .hasPrevious(postPage.hasPrevious())
                                 .build();
 
-                ApiResponse<List<PostResponse>> response = ApiResponse.<List<PostResponse>>builder()
+                ApiResponse<List<?>> response = ApiResponse.<List<?>>builder()
                                 .success(true)
                                 .message(String.format("Fetched posts from last %d days", days))
                                 .data(postPage.getContent())
@@ -198,12 +262,48 @@ public class PostController {
                 return ResponseEntity.ok(response);
         }
 
+        @GetMapping("/trending")
+        @Operation(summary = "Lấy các posts đang trending", description = "Xếp hạng theo comments + views trong 48h gần nhất (materialized view, refresh định kỳ)")
+        public ResponseEntity<ApiResponse<List<TrendingPostResponse>>> getTrendingPosts(
+                        @Parameter(description = "Số posts trả về", example = "10") @RequestParam(defaultValue = "10") int limit) {
+
+                // Cache chỉ giữ 1 entry (top N) → cắt theo limit ở đây
+                List<TrendingPostResponse> trending = trendingPostService.getTrendingPosts();
+                List<TrendingPostResponse> top = trending.subList(0, Math.min(Math.max(limit, 0), trending.size()));
+
+                ApiResponse<List<TrendingPostResponse>> response = ApiResponse.success(top,
+                                "Fetched trending posts successfully");
+                return ResponseEntity.ok(response);
+        }
+
+        @GetMapping("/hot")
+        @Operation(summary = "Lấy các posts đang hot", description = "Xếp hạng theo views + comments, score giảm theo half-life (cập nhật tức thời trong memory)")
+        public ResponseEntity<ApiResponse<List<HotPostResponse>>> getHotPosts(
+                        @Parameter(description = "Số posts trả về", example = "10") @RequestParam(defaultValue = "10") int limit) {
+
+                List<HotPostResponse> hot = hotPostService.getHotPosts(limit);
+
+                ApiResponse<List<HotPostResponse>> response = ApiResponse.success(hot,
+                                "Fetched hot posts successfully");
+                return ResponseEntity.ok(response);
+        }
+
         @GetMapping("/{id}")
         @Operation(summary = "Lấy chi tiết một post")
-        public ResponseEntity<ApiResponse<PostResponse>> getPostById(@PathVariable Long id) {
+        public ResponseEntity<ApiResponse<PostResponse>> getPostById(@PathVariable Long id,
+                        HttpServletRequest request, WebRequest webRequest) {
                 PostResponse post = postService.getPostById(id);
+                postViewService.recordView(id, request.getRemoteAddr(), request.getHeader(HttpHeaders.USER_AGENT));
+                post.setViewerCount(uniqueViewerService.getViewerCount(id));
+
+                // So với metadata của entry trong posts cache → 304 không serialize body
+                String etag = ETagUtils.of("p", id, post.getUpdatedAt(), post.getViewerCount());
+                if (webRequest.checkNotModified(etag, ETagUtils.epochMillis(post.getUpdatedAt()))) {
+                        return null;
+                }
+
                 ApiResponse<PostResponse> response = ApiResponse.success(post, "Post retrieved successfully");
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
         }
 
         @PutMapping("/{id}")
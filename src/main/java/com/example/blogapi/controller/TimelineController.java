@@ -0,0 +1,43 @@
+package com.example.blogapi.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.blogapi.dto.response.ApiResponse;
+import com.example.blogapi.dto.response.TimelineResponse;
+import com.example.blogapi.service.TimelineService;
+import com.example.blogapi.util.SecurityUtils;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/timeline")
+@RequiredArgsConstructor
+@Tag(name = "Timeline APIs", description = "Home timeline của user hiện tại")
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    @GetMapping
+    @Operation(summary = "Lấy home timeline", description = "Post của chính user + những người đang follow, mới nhất trước. "
+            + "Phân trang bằng cursor: truyền nextCursor của trang trước vào before")
+    public ResponseEntity<ApiResponse<TimelineResponse>> getTimeline(
+            @Parameter(description = "Cursor (nextCursor của trang trước), bỏ trống = trang đầu") @RequestParam(required = false) Long before,
+            @Parameter(description = "Số posts mỗi trang (tối đa app.timeline.max-page-size)", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Không xác định được user hiện tại");
+        }
+
+        TimelineResponse timeline = timelineService.getTimeline(userId, before, size);
+        return ResponseEntity.ok(ApiResponse.success(timeline, "Fetched timeline successfully"));
+    }
+}
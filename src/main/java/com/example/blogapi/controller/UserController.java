@@ -7,7 +7,11 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.blogapi.dto.request.UserCreateRequest;
 import com.example.blogapi.dto.response.ApiResponse;
 import com.example.blogapi.dto.response.UserResponse;
+import com.example.blogapi.service.FollowService;
+import com.example.blogapi.service.ListGenerationService;
 import com.example.blogapi.service.UserService;
+import com.example.blogapi.service.UserDeletionJobService.UserDeletionJob;
+import com.example.blogapi.util.ETagUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -36,6 +42,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 @Tag(name = "User APIs", description = "API để quản lý người dùng")
 public class UserController {
     private final UserService userService;
+    private final FollowService followService;
+    private final ListGenerationService listGenerationService;
 
     @PostMapping("/register")
     @Operation(summary = "Đăng ký user mới")
@@ -47,10 +55,17 @@ public class UserController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Lấy thông tin user theo ID")
-    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id, WebRequest webRequest) {
         UserResponse user = userService.getUserById(id);
+
+        // So với metadata của entry trong users cache → 304 không serialize body
+        if (webRequest.checkNotModified(ETagUtils.of("u", id, user.getUpdatedAt()),
+                ETagUtils.epochMillis(user.getUpdatedAt()))) {
+            return null;
+        }
+
         ApiResponse<UserResponse> response = ApiResponse.success(user, "User retrieved successfully");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
     }
 
     @GetMapping
@@ -62,9 +77,15 @@ public class UserController {
 
             @Parameter(description = "Sắp xếp theo field", example = "username") @RequestParam(defaultValue = "id") String sortBy,
 
-            @Parameter(description = "Hướng sắp xếpL asc hoặc desc", example = "asc") @RequestParam(defaultValue = "asc") String sortDir
+            @Parameter(description = "Hướng sắp xếpL asc hoặc desc", example = "asc") @RequestParam(defaultValue = "asc") String sortDir,
+
+            WebRequest webRequest) {
 
-    ) {
+        // Đọc generation TRƯỚC khi query: khớp → 304, không chạm DB
+        String etag = listGenerationService.etag(ListGenerationService.USERS);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
@@ -90,7 +111,7 @@ public class UserController {
                 .statusCode(200)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
     }
 
     @GetMapping("/search")
@@ -101,9 +122,13 @@ public class UserController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "username") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest webRequest) {
 
-    ) {
+        String etag = listGenerationService.etag(ListGenerationService.USERS);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
@@ -130,7 +155,7 @@ public class UserController {
                 .statusCode(200)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
     }
 
     @GetMapping("/role/{role}")
@@ -139,7 +164,13 @@ public class UserController {
             @Parameter(description = "Role của user", example = "ROLE_USER") @PathVariable String role,
 
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+
+        String etag = listGenerationService.etag(ListGenerationService.USERS);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("username").ascending());
         Page<UserResponse> userPage = userService.getUsersByRole(role, pageable);
@@ -162,13 +193,43 @@ public class UserController {
                 .statusCode(200)
                 .build();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(ETagUtils.REVALIDATE).body(response);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        ApiResponse<Void> response = ApiResponse.success(null, "User deleted successfully");
+    @Operation(summary = "Xoá user", description = "Account lớn được xoá bằng job async → trả về 202 kèm jobId để theo dõi progress")
+    public ResponseEntity<ApiResponse<UserDeletionJob>> deleteUser(@PathVariable Long id) {
+        Optional<UserDeletionJob> job = userService.deleteUser(id);
+
+        if (job.isPresent()) {
+            ApiResponse<UserDeletionJob> response = ApiResponse.<UserDeletionJob>builder()
+                    .success(true)
+                    .message("User deletion scheduled - track progress at /api/v1/admin/user-deletions/"
+                            + job.get().getJobId())
+                    .data(job.get())
+                    .timestamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        }
+
+        ApiResponse<UserDeletionJob> response = ApiResponse.success(null, "User deleted successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/follow")
+    @Operation(summary = "Follow user", description = "Post mới của user được đẩy vào home timeline của người follow")
+    public ResponseEntity<ApiResponse<Void>> followUser(@PathVariable Long id) {
+        followService.follow(id);
+        ApiResponse<Void> response = ApiResponse.success(null, "Followed user successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}/follow")
+    @Operation(summary = "Unfollow user")
+    public ResponseEntity<ApiResponse<Void>> unfollowUser(@PathVariable Long id) {
+        followService.unfollow(id);
+        ApiResponse<Void> response = ApiResponse.success(null, "Unfollowed user successfully");
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,13 @@
+package com.example.blogapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * DTO cho refresh / logout request
+ */
+@Data
+public class RefreshTokenRequest {
+    @NotBlank(message = "Refresh token không được để trống")
+    private String refreshToken;
+}
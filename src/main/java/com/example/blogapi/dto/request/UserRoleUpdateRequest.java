@@ -0,0 +1,12 @@
+package com.example.blogapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class UserRoleUpdateRequest {
+    @NotBlank(message = "Role không được để trống")
+    @Pattern(regexp = "^ROLE_(USER|ADMIN)$", message = "Role phải là ROLE_USER hoặc ROLE_ADMIN")
+    private String role;
+}
@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
  * DTO cho login response
  * 
  * 📦 CHỨA:
- * - JWT token
+ * - JWT token (access token ngắn hạn) + refresh token
  * - User info (username, role)
  * - Token type (Bearer)
  * - Expiration time
@@ -27,4 +27,7 @@ public class AuthResponse {
     private String username;
     private String role;
     private long expiresIn;
+
+    private String refreshToken;
+    private long refreshExpiresIn;
 }
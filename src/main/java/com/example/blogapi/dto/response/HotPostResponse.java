@@ -0,0 +1,24 @@
+package com.example.blogapi.dto.response;
+
+import java.io.Serializable;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Một dòng trong bảng xếp hạng "hot right now"
+ *
+ * score: tổng trọng số view/comment đã giảm theo half-life tại thời điểm đọc
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HotPostResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    Long postId;
+    String title;
+    String authorUsername;
+    double score;
+
+}
@@ -23,4 +23,7 @@ public class PostResponse implements Serializable {
     String deletedBy;
     String authorUsername;
 
+    // Người xem duy nhất (HyperLogLog), gắn ở controller → không nằm trong posts cache
+    Long viewerCount;
+
 }
@@ -0,0 +1,26 @@
+package com.example.blogapi.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * 1 trang home timeline (cursor-based)
+ *
+ * nextCursor: truyền lại qua ?before= để lấy trang kế tiếp, null = hết timeline
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TimelineResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    List<PostResponse> posts;
+    Long nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.example.blogapi.dto.response;
+
+import java.io.Serializable;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Một dòng trong bảng xếp hạng trending
+ *
+ * ⚠️ Không để class final: Redis serializer dùng default typing NON_FINAL,
+ * class final sẽ mất type info khi đọc lại từ cache
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TrendingPostResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    Long postId;
+    String title;
+    String authorUsername;
+    long commentCount;
+    long viewCount;
+    long score;
+
+}
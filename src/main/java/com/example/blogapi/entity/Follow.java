@@ -0,0 +1,52 @@
+package com.example.blogapi.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Quan hệ follow: follower nhận post của followee trên home timeline
+ *
+ * 📚 Không map collection ngược trên User (followers của celebrity có thể lên tới hàng triệu)
+ * → mọi truy vấn đi qua FollowRepository
+ */
+@Entity
+@Table(name = "follows", uniqueConstraints = @UniqueConstraint(
+        name = "uk_follows_follower_followee", columnNames = { "follower_id", "followee_id" }))
+@Getter
+@Setter
+@NoArgsConstructor
+public class Follow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Xoá user → follows bị xoá bởi ON DELETE CASCADE của DB
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User follower;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followee_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User followee;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
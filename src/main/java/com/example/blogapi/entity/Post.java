@@ -1,9 +1,16 @@
 package com.example.blogapi.entity;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -12,7 +19,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -23,19 +32,92 @@ import lombok.Setter;
 @Getter
 @NoArgsConstructor
 public class Post extends BaseEntity {
+    static final int EXCERPT_LENGTH = 200;
+    private static final Pattern EXCERPT_WHITESPACE = Pattern.compile("[ \\t\\n\\x0B\\f\\r]+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String title;
-    private String content;
+
+    // Content nằm ở bảng post_contents (chung khoá chính), proxy lazy:
+    // load Post chỉ để kiểm tra / xoá không đọc content TEXT.
+    // optional = false: Hibernate tạo proxy thay vì SELECT để biết có content hay không
+    // Chỉ cascade PERSIST: xoá post dựa vào ON DELETE CASCADE của DB (không load content để xoá)
+    @OneToOne(mappedBy = "post", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.PERSIST)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private PostContent body;
+
+    // Tính lại mỗi lần set content → list view=summary không phải đọc content
+    @Column(name = "excerpt", length = 255)
+    @Setter(AccessLevel.NONE)
+    private String excerpt;
 
     // Post -> User
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     // Post -> Comment
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Không cascade ở tầng JPA: xoá post dựa vào ON DELETE CASCADE của DB
+    // (tránh Hibernate load và xoá từng comment một)
+    @OneToMany(mappedBy = "post")
     private List<Comment> comments = new ArrayList<>();
+
+    /**
+     * Đọc content → initialize proxy (1 SELECT post_contents nếu chưa fetch cùng post)
+     */
+    public String getContent() {
+        return body != null ? body.getContent() : null;
+    }
+
+    /**
+     * Post mới: tạo PostContent (persist cascade cùng post); post đã có: cập nhật content
+     *
+     * ⚠️ Content nằm ở bảng khác: sửa content mà title/excerpt giữ nguyên thì row posts
+     * không dirty → @LastModifiedDate không chạy, updatedAt (ETag, Last-Modified) đứng yên
+     * → content thật sự đổi thì đánh dấu updatedAt, auditing ghi lại updatedAt/updatedBy khi flush
+     */
+    public void setContent(String content) {
+        if (body == null) {
+            body = new PostContent(this);
+        } else if (!Objects.equals(body.getContent(), content)) {
+            setUpdatedAt(LocalDateTime.now());
+        }
+        body.setContent(content);
+        this.excerpt = toExcerpt(content);
+    }
+
+    /**
+     * Gộp whitespace ASCII, cắt EXCERPT_LENGTH code point (không cắt đôi surrogate pair) + "…"
+     *
+     * ⚠️ Cùng quy tắc với backfill V7__Post_Excerpt_Rebackfill.sql: PostgreSQL left()/char_length
+     * đếm code point, \s của Java và PostgreSQL khác nhau với Unicode whitespace
+     * → cả 2 bên dùng đúng tập [ \t\n\x0B\f\r] và chỉ trim dấu cách (như btrim/rtrim)
+     */
+    static String toExcerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = trimSpaces(EXCERPT_WHITESPACE.matcher(content).replaceAll(" "), true);
+        if (text.codePointCount(0, text.length()) <= EXCERPT_LENGTH) {
+            return text;
+        }
+        return trimSpaces(text.substring(0, text.offsetByCodePoints(0, EXCERPT_LENGTH)), false) + "…";
+    }
+
+    private static String trimSpaces(String text, boolean leading) {
+        int start = 0;
+        int end = text.length();
+        while (leading && start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return text.substring(start, end);
+    }
 }
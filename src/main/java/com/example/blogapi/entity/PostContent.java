@@ -0,0 +1,52 @@
+package com.example.blogapi.entity;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Nội dung (body) của post, tách khỏi bảng posts
+ *
+ * 🎯 TẠI SAO:
+ * - Ownership check, cleanup scan, validate post khi tạo comment... chỉ cần metadata
+ * nhưng mỗi lần load Post đều kéo theo content TEXT (có thể vài chục KB)
+ * - Tách bảng → Post.body là proxy lazy, content chỉ được đọc khi gọi getContent()
+ *
+ * 📚 Chia sẻ khoá chính với posts (post_id), FK ON DELETE CASCADE
+ * → xoá post (kể cả bulk DELETE) tự xoá content, không cần load
+ */
+@Entity
+@Table(name = "post_contents")
+@Setter
+@Getter
+@NoArgsConstructor
+public class PostContent {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    public PostContent(Post post) {
+        this.post = post;
+    }
+}
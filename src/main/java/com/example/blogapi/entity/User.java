@@ -3,7 +3,7 @@ package com.example.blogapi.entity;
 import java.util.ArrayList;
 import java.util.List;
 
-import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -27,14 +27,30 @@ public class User extends BaseEntity {
     private String password;
     private String role;
 
+    // Cập nhật bằng UPDATE atomic khi follow/unfollow (UserRepository.adjustFollowerCount)
+    // → createPost biết author có phải celebrity (fan-out-on-read) mà không COUNT(*)
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+
+    // true khi job xoá async đã được submit: CustomUserDetailsService trả principal disabled
+    // (row user vẫn còn trong lúc job xoá posts/comments theo batch)
+    @Column(name = "deleting", nullable = false)
+    private boolean deleting;
+
     // User -> Post
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Không cascade ở tầng JPA: xoá user dựa vào ON DELETE CASCADE của DB
+    @OneToMany(mappedBy = "user")
     private List<Post> posts = new ArrayList<>();
 
     // User -> Comment
-    @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "author")
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Chỉ dùng khi collection đã được load sẵn.
+     * Create path (PostService/CommentService) set author trực tiếp ở phía owning
+     * để không initialize toàn bộ User.posts / User.comments.
+     */
     public void addPost(Post post) {
         posts.add(post);
         post.setUser(this);
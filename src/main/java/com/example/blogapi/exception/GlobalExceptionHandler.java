@@ -5,10 +5,12 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
  * - Resource not found (404)
  * - Access denied (403) ← NEW!
  * - Authentication failed (401) ← NEW!
+ * - Service overloaded (503)
  * - Generic exceptions (500)
  */
 @RestControllerAdvice
@@ -179,7 +182,50 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
         }
 
-        // ========== 6. GENERIC EXCEPTION (500 Internal Server Error) ==========
+        // ========== 6. SERVICE OVERLOADED (503 Service Unavailable) ==========
+
+        /**
+         * Handle ServiceOverloadedException
+         * Example: password hashing queue đầy khi login/register burst
+         * → client retry sau Retry-After giây thay vì giữ Tomcat thread
+         */
+        @ExceptionHandler(ServiceOverloadedException.class)
+        public ResponseEntity<ApiResponse<Object>> handleServiceOverloadedException(
+                        ServiceOverloadedException ex,
+                        WebRequest request) {
+
+                log.warn("Service overloaded: {} - Path: {}", ex.getMessage(), request.getDescription(false));
+
+                ApiResponse<Object> response = ApiResponse.<Object>builder()
+                                .success(false)
+                                .message(ex.getMessage())
+                                .data(null)
+                                .timestamp(LocalDateTime.now())
+                                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .path(request.getDescription(false).replace("uri=", ""))
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                                .body(response);
+        }
+
+        /**
+         * Handle CannotCreateTransactionException
+         * Example: hết connection (Hikari timeout / connection limiter khi chạy virtual threads)
+         * → cùng response 503 + Retry-After như ServiceOverloadedException
+         */
+        @ExceptionHandler(CannotCreateTransactionException.class)
+        public ResponseEntity<ApiResponse<Object>> handleCannotCreateTransactionException(
+                        CannotCreateTransactionException ex,
+                        WebRequest request) {
+
+                return handleServiceOverloadedException(
+                                new ServiceOverloadedException("Database đang quá tải, vui lòng thử lại sau", 1),
+                                request);
+        }
+
+        // ========== 7. GENERIC EXCEPTION (500 Internal Server Error) ==========
 
         /**
          * Handle all other unhandled exceptions
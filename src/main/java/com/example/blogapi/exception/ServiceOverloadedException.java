@@ -0,0 +1,22 @@
+package com.example.blogapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+/**
+ * Tài nguyên có giới hạn (thread pool, ...) đã đầy → fail fast thay vì xếp hàng vô hạn
+ * GlobalExceptionHandler trả 503 kèm header Retry-After
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
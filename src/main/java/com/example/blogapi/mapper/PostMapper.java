@@ -9,5 +9,7 @@ import com.example.blogapi.entity.Post;
 @Mapper(componentModel = "spring", uses = { UserMapper.class, CommentMapper.class })
 public interface PostMapper {
     @Mapping(source = "user.username", target = "authorUsername")
+    // viewerCount do controller gắn sau (UniqueViewerService), không lấy từ entity
+    @Mapping(target = "viewerCount", ignore = true)
     PostResponse toPostResponse(Post post);
 }
@@ -1,10 +1,13 @@
 package com.example.blogapi.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,14 +19,49 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Deprecated
     List<Comment> findByPostId(Long postId);
 
-    // Lấy comments của một post với pagination
+    // Lấy comments của một post với pagination (fetch author → tránh N+1 khi map authorUsername)
+    @EntityGraph(attributePaths = "author")
     Page<Comment> findByPostId(Long postId, Pageable pageable);
 
     // Lấy comments của một user cụ thể
     @Query("SELECT c FROM Comment c WHERE c.author.id = :userId")
     Page<Comment> findByAuthorId(@Param("userId") Long userId, Pageable pageable);
 
+    // Lấy comment kèm post + author trong 1 câu SELECT (update path: check post và map response)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.post JOIN FETCH c.author WHERE c.id = :id")
+    Optional<Comment> findByIdWithPostAndAuthor(@Param("id") Long id);
+
+    // Author + post của comment (ownership check) - projection, post_id lấy từ FK không cần join
+    @Query("SELECT new com.example.blogapi.repository.ResourceOwner(u.id, u.username, c.post.id) "
+            + "FROM Comment c JOIN c.author u WHERE c.id = :id")
+    Optional<ResourceOwner> findOwnerById(@Param("id") Long id);
+
+    // Xoá 1 comment bằng 1 câu DELETE (deleteById của JPA sẽ SELECT trước)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.id = :id")
+    int deleteCommentById(@Param("id") Long id);
+
     // Tìm kiếm comments theo nội dung
     @Query("SELECT c FROM Comment c WHERE LOWER(c.body) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Comment> searchComments(@Param("keyword") String keyword, Pageable pageable);
+
+    // ====== SET-BASED DELETE (job xoá account lớn) ========
+
+    // Đếm comments bị xoá cùng user: do user viết HOẶC nằm trên posts của user
+    // (comment của user trên post của chính mình chỉ tính 1 lần)
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.author.id = :userId OR c.post.user.id = :userId")
+    long countDeletedWithUser(@Param("userId") Long userId);
+
+    // Xoá 1 batch comments do user viết
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM comments WHERE id IN "
+            + "(SELECT id FROM comments WHERE user_id = :userId ORDER BY id LIMIT :limit)", nativeQuery = true)
+    int deleteBatchByAuthorId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Xoá 1 batch comments nằm trên các posts của user
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM comments WHERE id IN "
+            + "(SELECT c.id FROM comments c JOIN posts p ON p.id = c.post_id "
+            + "WHERE p.user_id = :userId ORDER BY c.id LIMIT :limit)", nativeQuery = true)
+    int deleteBatchOnPostsOfUser(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -0,0 +1,53 @@
+package com.example.blogapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.blogapi.entity.Follow;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    /**
+     * INSERT atomic, không check-then-act: 2 request follow đồng thời → chỉ 1 row được ghi,
+     * request còn lại nhận 0 thay vì vi phạm uk_follows_follower_followee
+     *
+     * @return 1 nếu vừa follow, 0 nếu đã follow từ trước hoặc followee không tồn tại
+     */
+    @Modifying
+    @Query(value = "INSERT INTO follows (follower_id, followee_id, created_at) "
+            + "SELECT :followerId, :followeeId, :createdAt WHERE EXISTS (SELECT 1 FROM users WHERE id = :followeeId) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * @return 1 nếu đã xoá, 0 nếu chưa follow
+     */
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followee.id = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Long followerId,
+            @Param("followeeId") Long followeeId);
+
+    /**
+     * 1 batch follower IDs theo keyset (follower_id > afterId) - dùng cho fan-out
+     * (index idx_follows_followee_follower, không OFFSET)
+     */
+    @Query(value = "SELECT follower_id FROM follows WHERE followee_id = :followeeId AND follower_id > :afterId "
+            + "ORDER BY follower_id LIMIT :limit", nativeQuery = true)
+    List<Long> findFollowerIdBatch(@Param("followeeId") Long followeeId, @Param("afterId") Long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Followees là celebrity (không fan-out lúc ghi) → timeline đọc post của họ lúc đọc
+     */
+    @Query("SELECT u.id FROM Follow f JOIN f.followee u "
+            + "WHERE f.follower.id = :followerId AND u.followerCount >= :threshold")
+    List<Long> findCelebrityFolloweeIds(@Param("followerId") Long followerId, @Param("threshold") long threshold);
+}
@@ -0,0 +1,126 @@
+package com.example.blogapi.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Các field của post mà list endpoints cho phép chọn (?fields=title,excerpt / ?view=summary)
+ *
+ * 🎯 TẠI SAO:
+ * - Client list chỉ cần title + excerpt nhưng vẫn nhận (và DB vẫn đọc) toàn bộ content TEXT
+ * - Chỉ SELECT đúng các cột được yêu cầu, author chỉ JOIN khi cần authorUsername
+ *
+ * ⚠️ id luôn có trong kết quả (client cần để mở chi tiết / phân trang)
+ */
+public enum PostField {
+
+    ID("id"),
+    TITLE("title"),
+    CONTENT("content"),
+    EXCERPT("excerpt"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    CREATED_BY("createdBy"),
+    UPDATED_BY("updatedBy"),
+    AUTHOR_USERNAME("authorUsername");
+
+    /**
+     * view=summary: đủ để render 1 card trong danh sách, không có content
+     */
+    public static final List<PostField> SUMMARY = List.of(ID, TITLE, EXCERPT, AUTHOR_USERNAME, CREATED_AT,
+            UPDATED_AT);
+
+    /**
+     * Field được phép dùng làm sortBy cho query fields: phải là thuộc tính persistent của Post
+     *
+     * ⚠️ content nằm ở PostContent, authorUsername ở User → QueryUtils.toOrders không resolve được
+     * trên root Post (lỗi 500) → chặn trước khi build query
+     */
+    public static final Set<PostField> SORTABLE = EnumSet.of(ID, TITLE, EXCERPT, CREATED_AT, UPDATED_AT,
+            CREATED_BY, UPDATED_BY);
+
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_SUMMARY = "summary";
+
+    // Tên field trong JSON response, trùng tên property của PostResponse / Post
+    private final String jsonName;
+
+    PostField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Field cần SELECT cho request, null nếu client muốn full PostResponse
+     *
+     * @param fields tên field (JSON), ưu tiên hơn view
+     * @param view   "full" hoặc "summary"
+     * @throws IllegalArgumentException view hoặc field không hợp lệ (→ 400)
+     */
+    public static List<PostField> resolve(Collection<String> fields, String view) {
+        if (fields != null && !fields.isEmpty()) {
+            return parse(fields);
+        }
+        if (view == null || VIEW_FULL.equalsIgnoreCase(view)) {
+            return null;
+        }
+        if (VIEW_SUMMARY.equalsIgnoreCase(view)) {
+            return SUMMARY;
+        }
+        throw new IllegalArgumentException("View không hợp lệ: '" + view + "' (chỉ hỗ trợ: full, summary)");
+    }
+
+    /**
+     * Parse tên field (không phân biệt hoa thường), giữ thứ tự enum, luôn kèm id
+     */
+    static List<PostField> parse(Collection<String> fields) {
+        Set<PostField> selected = EnumSet.of(ID);
+        for (String name : fields) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.jsonName.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Field không hợp lệ: '" + trimmed + "' (chỉ hỗ trợ: " + supportedNames() + ")")));
+        }
+        return List.copyOf(selected);
+    }
+
+    /**
+     * Kiểm tra mọi sortBy đều thuộc SORTABLE (phân biệt hoa thường như tên property của Post)
+     *
+     * @throws IllegalArgumentException field không sort được (→ 400)
+     */
+    public static void validateSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            boolean sortable = SORTABLE.stream()
+                    .anyMatch(field -> field.jsonName.equals(order.getProperty()));
+            if (!sortable) {
+                throw new IllegalArgumentException("Không thể sắp xếp theo: '" + order.getProperty()
+                        + "' (chỉ hỗ trợ: " + names(SORTABLE) + ")");
+            }
+        }
+    }
+
+    private static String supportedNames() {
+        return names(Arrays.asList(values()));
+    }
+
+    private static String names(Collection<PostField> fields) {
+        return fields.stream()
+                .map(PostField::jsonName)
+                .collect(Collectors.joining(", "));
+    }
+}
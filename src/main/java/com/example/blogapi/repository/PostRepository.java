@@ -1,11 +1,13 @@
 package com.example.blogapi.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,7 +17,7 @@ import org.springframework.stereotype.Repository;
 import com.example.blogapi.entity.Post;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
 
   // ======== OVERRIDE DEFAULT METHODS TO EXCLUDE SOFT DELETED ========
 
@@ -27,7 +29,9 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
   /**
    * Lấy tất cả posts, loại trừ các post đã bị soft delete
+   * (fetch luôn user + body để map authorUsername / content không bị N+1)
    */
+  @EntityGraph(attributePaths = { "user", "body" })
   @Query("SELECT p FROM Post p WHERE p.deletedAt IS NULL")
   Page<Post> findAll(Pageable pageable);
 
@@ -37,27 +41,36 @@ public interface PostRepository extends JpaRepository<Post, Long> {
   @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Post p WHERE p.id = :id AND p.deletedAt IS NULL")
   boolean existsById(@Param("id") Long id);
 
+  /**
+   * Tìm post kèm author + content trong 1 câu SELECT (chi tiết / update path map PostResponse)
+   */
+  @Query("SELECT p FROM Post p JOIN FETCH p.user JOIN FETCH p.body WHERE p.id = :id AND p.deletedAt IS NULL")
+  Optional<Post> findByIdWithUser(@Param("id") Long id);
+
   // ================ CUSTOM QUERIRES ================
 
   /**
    * Tìm kiếm posts theo keyword trong title hoặc content
    * (loại trừ đã xoá)
    */
+  @EntityGraph(attributePaths = { "user", "body" })
   @Query("SELECT p FROM Post p WHERE " +
       "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-      "LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+      "LOWER(p.body.content) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
       "AND p.deletedAt IS NULL")
   Page<Post> searchPosts(@Param("keyword") String keyword, Pageable pageable);
 
   /**
    * Lấy posts của một user cụ thể (loại trừ đã xoá)
    */
+  @EntityGraph(attributePaths = { "user", "body" })
   @Query("SELECT p FROM Post p WHERE p.user.id = :userId AND p.deletedAt IS NULL")
   Page<Post> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
   /**
    * Lấy posts được tạo sau một thời điểm (loại trừ đã xoá)
    */
+  @EntityGraph(attributePaths = { "user", "body" })
   @Query("SELECT p FROM Post p WHERE p.createdAt >= :fromDate AND p.deletedAt IS NULL ORDER BY p.createdAt DESC ")
   Page<Post> findRecentPosts(@Param("fromDate") LocalDateTime fromDate, Pageable pageable);
 
@@ -73,15 +86,71 @@ public interface PostRepository extends JpaRepository<Post, Long> {
    * Lấy chỉ các posts đã bị soft delete
    * 
    */
+  @EntityGraph(attributePaths = { "user", "body" })
   @Query("SELECT p FROM Post p WHERE p.deletedAt IS NOT NULL")
   Page<Post> findDeletedPosts(Pageable pageable);
 
   /**
-   * Tìm post theo ID kể cả đã xoá (để restore)
+   * Tìm post theo ID kể cả đã xoá (để restore, fetch author + content để map response)
    */
-  @Query("SELECT p FROM Post p WHERE p.id = :id")
+  @Query("SELECT p FROM Post p JOIN FETCH p.user JOIN FETCH p.body WHERE p.id = :id")
   Optional<Post> findByIdIncludingDeleted(@Param("id") Long id);
 
+  // ====== OWNERSHIP (ResourceSecurityService) ========
+
+  /**
+   * Author của post (loại trừ đã xoá) - projection, không load entity
+   */
+  @Query("SELECT new com.example.blogapi.repository.ResourceOwner(u.id, u.username, p.id) "
+      + "FROM Post p JOIN p.user u WHERE p.id = :id AND p.deletedAt IS NULL")
+  Optional<ResourceOwner> findOwnerById(@Param("id") Long id);
+
+  /**
+   * Author của post kể cả đã xoá (restore)
+   */
+  @Query("SELECT new com.example.blogapi.repository.ResourceOwner(u.id, u.username, p.id) "
+      + "FROM Post p JOIN p.user u WHERE p.id = :id")
+  Optional<ResourceOwner> findOwnerByIdIncludingDeleted(@Param("id") Long id);
+
+  /**
+   * Soft delete bằng 1 câu UPDATE (không load post).
+   * Bulk update bỏ qua auditing → set updated_at/updated_by thủ công
+   *
+   * @return số post đã xoá (0 nếu không tồn tại hoặc đã xoá)
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Post p SET p.deletedAt = :now, p.deletedBy = :username, "
+      + "p.updatedAt = :now, p.updatedBy = :username WHERE p.id = :id AND p.deletedAt IS NULL")
+  int softDeleteById(@Param("id") Long id, @Param("username") String username, @Param("now") LocalDateTime now);
+
+  // ====== HOME TIMELINE (TimelineService) ========
+
+  /**
+   * Rebuild timeline: post của chính user + followees không phải celebrity
+   * (chỉ chạy khi timeline trong Redis chưa có / hết hạn, không chạy mỗi request)
+   */
+  @Query("SELECT new com.example.blogapi.repository.TimelineEntry(p.id, p.createdAt) FROM Post p "
+      + "WHERE p.deletedAt IS NULL AND p.createdAt < :before AND (p.user.id = :userId OR p.user.id IN ("
+      + "SELECT f.followee.id FROM Follow f WHERE f.follower.id = :userId AND f.followee.followerCount < :threshold)) "
+      + "ORDER BY p.createdAt DESC, p.id DESC")
+  List<TimelineEntry> findTimelineEntries(@Param("userId") Long userId, @Param("threshold") long threshold,
+      @Param("before") LocalDateTime before, Pageable pageable);
+
+  /**
+   * Fan-out-on-read: post mới nhất của các celebrity mà user follow
+   */
+  @Query("SELECT new com.example.blogapi.repository.TimelineEntry(p.id, p.createdAt) FROM Post p "
+      + "WHERE p.deletedAt IS NULL AND p.createdAt < :before AND p.user.id IN :authorIds "
+      + "ORDER BY p.createdAt DESC, p.id DESC")
+  List<TimelineEntry> findTimelineEntriesByAuthors(@Param("authorIds") List<Long> authorIds,
+      @Param("before") LocalDateTime before, Pageable pageable);
+
+  /**
+   * Hydrate các post chưa có trong posts cache bằng 1 câu SELECT (fetch author + content)
+   */
+  @Query("SELECT p FROM Post p JOIN FETCH p.user JOIN FETCH p.body WHERE p.id IN :ids AND p.deletedAt IS NULL")
+  List<Post> findAllByIdInWithUser(@Param("ids") Collection<Long> ids);
+
   // ====== ScheduleCleanup ========
 
   /**
@@ -104,4 +173,38 @@ public interface PostRepository extends JpaRepository<Post, Long> {
   @Query("DELETE FROM Post p WHERE p.deletedAt IS NOT NULL AND p.deletedAt < :threshold")
   int deleteByDeletedAtBefore(@Param("threshold") LocalDateTime threshold);
 
+  // ====== SET-BASED DELETE ========
+
+  /**
+   * Xóa vĩnh viễn 1 post (kể cả đã soft delete) bằng 1 câu DELETE.
+   * Comments được xóa bởi ON DELETE CASCADE của DB, không load vào Hibernate.
+   *
+   * @return số post đã xóa (0 nếu không tồn tại)
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("DELETE FROM Post p WHERE p.id = :id")
+  int hardDeleteById(@Param("id") Long id);
+
+  /**
+   * Lấy ID các posts của user (kể cả đã xoá) - dùng để evict cache chính xác
+   */
+  @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId")
+  List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+  /**
+   * Đếm tất cả posts của user (kể cả đã xoá)
+   */
+  @Query("SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+  long countAllByUserId(@Param("userId") Long userId);
+
+  /**
+   * Lấy 1 batch ID posts của user - dùng cho job xoá account lớn
+   */
+  @Query(value = "SELECT id FROM posts WHERE user_id = :userId ORDER BY id LIMIT :limit", nativeQuery = true)
+  List<Long> findIdBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+  @Modifying(clearAutomatically = true)
+  @Query("DELETE FROM Post p WHERE p.id IN :ids")
+  int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
 }
@@ -0,0 +1,21 @@
+package com.example.blogapi.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.blogapi.entity.Post;
+
+/**
+ * Truy vấn projection động cho PostRepository (sparse fieldsets)
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Chỉ SELECT các cột của fields, mỗi post là 1 Map (jsonName → giá trị) theo thứ tự fields
+     */
+    Page<Map<String, Object>> findFields(Specification<Post> spec, List<PostField> fields, Pageable pageable);
+}
@@ -0,0 +1,96 @@
+package com.example.blogapi.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.blogapi.entity.Post;
+import com.example.blogapi.entity.PostContent;
+import com.example.blogapi.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Sparse fieldsets bằng Criteria tuple query
+ *
+ * ⚡ SELECT p.id, p.title, p.excerpt ... thay vì SELECT p.* (post_contents chỉ JOIN khi được
+ * yêu cầu content), không tạo entity nên không có dirty checking / persistence context
+ *
+ * 📚 COUNT chỉ chạy khi trang hiện tại chưa đủ biết tổng (PageableExecutionUtils)
+ */
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findFields(Specification<Post> spec, List<PostField> fields,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Post> root = query.from(Post.class);
+        Join<Post, User> author = fields.contains(PostField.AUTHOR_USERNAME) ? root.join("user") : null;
+        Join<Post, PostContent> body = fields.contains(PostField.CONTENT) ? root.join("body") : null;
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> select(root, author, body, field).alias(field.jsonName()))
+                .toList());
+        query.where(spec.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = typedQuery.getResultList().stream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Post> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Selection<?> select(Root<Post> root, Join<Post, User> author, Join<Post, PostContent> body,
+            PostField field) {
+        return switch (field) {
+            case AUTHOR_USERNAME -> author.get("username");
+            case CONTENT -> body.get("content");
+            default -> root.get(field.jsonName());
+        };
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, List<PostField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (PostField field : fields) {
+            row.put(field.jsonName(), tuple.get(field.jsonName()));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.blogapi.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.blogapi.entity.Post;
+
+/**
+ * Điều kiện WHERE của các list endpoints, dùng cho truy vấn projection (PostRepositoryCustom)
+ *
+ * 📚 Cùng điều kiện với các @Query tương ứng trong PostRepository (loại trừ đã xoá)
+ */
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    public static Specification<Post> notDeleted() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    /**
+     * keyword trong title hoặc content (không phân biệt hoa thường)
+     */
+    public static Specification<Post> search(String keyword) {
+        return notDeleted().and((root, query, cb) -> {
+            String pattern = "%" + keyword.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("body").get("content")), pattern));
+        });
+    }
+
+    public static Specification<Post> byUser(Long userId) {
+        return notDeleted().and((root, query, cb) -> cb.equal(root.get("user").get("id"), userId));
+    }
+
+    public static Specification<Post> createdAfter(LocalDateTime fromDate) {
+        return notDeleted().and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.blogapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.blogapi.entity.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Lấy token kèm user trong 1 câu SELECT (refresh cần username + role để cấp access token)
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    // Revoke có điều kiện: 2 request refresh cùng token → chỉ 1 request thắng
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Revoke cả family (logout hoặc phát hiện token bị dùng lại)
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    // Revoke mọi family của user (account bị xoá)
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllOfUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Dọn token đã hết hạn
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :threshold")
+    int deleteExpiredBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,12 @@
+package com.example.blogapi.repository;
+
+/**
+ * Projection cho ownership check: chỉ lấy user_id + username của author
+ *
+ * 🎯 TẠI SAO:
+ * - Check quyền không cần load cả Post/Comment rồi lazy load User
+ * - postId: post chứa resource (với post thì là chính nó) → service check
+ * comment thuộc post nào mà không phải SELECT comment
+ */
+public record ResourceOwner(Long userId, String username, Long postId) {
+}
@@ -0,0 +1,12 @@
+package com.example.blogapi.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection cho home timeline: chỉ ID + thời điểm tạo của post
+ *
+ * 🎯 Timeline chỉ sắp xếp/merge theo createdAt, nội dung post được hydrate
+ * qua posts cache → không load entity ở bước này
+ */
+public record TimelineEntry(Long postId, LocalDateTime createdAt) {
+}
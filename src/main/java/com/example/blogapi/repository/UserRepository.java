@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,4 +22,46 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findByRole(String role, Pageable pageable);
 
+    // Chỉ lấy username (invalidate principal cache), không load cả entity
+    @Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // Cập nhật hash (upgrade BCrypt cost sau login) mà không load entity
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Cộng/trừ follower_count bằng 1 câu UPDATE atomic (follow/unfollow đồng thời không mất cập nhật)
+     *
+     * @return 0 nếu user không tồn tại
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + :delta WHERE u.id = :id")
+    int adjustFollowerCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Trước khi xoá user: trừ follower_count của những người user đang follow
+     * (follows của user bị ON DELETE CASCADE xoá, không đi qua unfollow)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount - 1 "
+            + "WHERE u.id IN (SELECT f.followee.id FROM Follow f WHERE f.follower.id = :userId)")
+    int decrementFollowerCountsOfFollowees(@Param("userId") Long userId);
+
+    /**
+     * Disable account trước khi giao cho job xoá async (login / access token / refresh bị từ chối)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.deleting = true WHERE u.id = :id")
+    int markDeleting(@Param("id") Long id);
+
+    /**
+     * Xoá user bằng 1 câu DELETE.
+     * Posts/comments được xoá bởi ON DELETE CASCADE của DB, không load vào Hibernate.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteUserById(@Param("id") Long id);
+
 }
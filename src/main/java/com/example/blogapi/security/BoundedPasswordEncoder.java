@@ -0,0 +1,123 @@
+package com.example.blogapi.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.blogapi.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PasswordEncoder chạy BCrypt trên pool riêng có giới hạn
+ *
+ * 🎯 TẠI SAO:
+ * - BCrypt tốn ~50-100ms CPU mỗi lần → login burst chiếm hết Tomcat threads,
+ * request đọc bị đói
+ * - Pool = số core (CPU-bound, nhiều thread hơn không nhanh hơn)
+ * - Queue có giới hạn: đầy → ServiceOverloadedException (503) ngay lập tức
+ *
+ * 📊 METRICS:
+ * - auth.password.hash (timer, tag operation=encode|matches)
+ * - auth.password.hash.queue.size / auth.password.hash.active (gauge)
+ * - auth.password.hash.rejected (counter)
+ *
+ * ⚡ upgradeEncoding() delegate cho BCrypt → DaoAuthenticationProvider tự
+ * re-hash khi đổi cost (qua UserDetailsPasswordService)
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("password-hash-"), new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Chỉ đọc cost trong hash → không cần chạy trên pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("⚠️ Password hashing queue full ({} waiting) - rejecting request", executor.getQueue().size());
+            throw new ServiceOverloadedException("Hệ thống đang quá tải, vui lòng thử lại sau.", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.blogapi.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.blogapi.config.ConcurrencyLimitProperties;
+import com.example.blogapi.config.ConcurrencyLimitProperties.Limit;
+import com.example.blogapi.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load shedding bằng adaptive concurrency limit (chạy TRƯỚC JwtAuthenticationFilter)
+ *
+ * 🎯 TẠI SAO:
+ * - Quá tải → request xếp hàng chờ Hikari/Redis, latency tăng vọt trước khi có lỗi
+ * - Giới hạn số request chạy đồng thời theo latency thực tế → request vượt limit
+ * bị từ chối ngay (503 + Retry-After), request đã nhận vẫn có latency bình thường
+ *
+ * 📚 NHÓM ROUTE (limit riêng, nhóm này quá tải không chặn nhóm khác):
+ * - ADMIN: /api/v1/admin/** (job nặng)
+ * - WRITE: POST/PUT/PATCH/DELETE
+ * - READ: GET/HEAD/OPTIONS
+ *
+ * 📊 Metrics: http.server.concurrency.limit / .in-flight (gauge), http.server.requests.shed (counter)
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        READ, WRITE, ADMIN
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<RouteClass, GradientConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        register(RouteClass.READ, properties.getRead());
+        register(RouteClass.WRITE, properties.getWrite());
+        register(RouteClass.ADMIN, properties.getAdmin());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Chỉ API (Swagger, actuator, H2 console không bị giới hạn)
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RouteClass routeClass = classify(request);
+        GradientConcurrencyLimiter limiter = limiters.get(routeClass);
+
+        int inFlightBefore = limiter.tryAcquire();
+        if (inFlightBefore < 0) {
+            shed(request, response, routeClass, limiter);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            filterChain.doFilter(request, response);
+            success = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (success) {
+                limiter.onSuccess(System.nanoTime() - start, inFlightBefore);
+            } else {
+                limiter.onIgnore();
+            }
+        }
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/v1/admin")) {
+            return RouteClass.ADMIN;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> RouteClass.READ;
+            default -> RouteClass.WRITE;
+        };
+    }
+
+    private void register(RouteClass routeClass, Limit config) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(config, properties.getSmoothing());
+        limiters.put(routeClass, limiter);
+
+        String route = routeClass.name().toLowerCase(Locale.ROOT);
+        Gauge.builder("http.server.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in-flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response, RouteClass routeClass,
+            GradientConcurrencyLimiter limiter) throws IOException {
+        String route = routeClass.name().toLowerCase(Locale.ROOT);
+        log.warn("Load shedding - route: {}, limit: {}, path: {}", route, limiter.getLimit(),
+                request.getRequestURI());
+        meterRegistry.counter("http.server.requests.shed", "route", route).increment();
+
+        long retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        ApiResponse<Object> errorResponse = ApiResponse.<Object>builder()
+                .success(false)
+                .message("Hệ thống đang quá tải, vui lòng thử lại sau " + retryAfterSeconds + " giây")
+                .data(null)
+                .timestamp(LocalDateTime.now())
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.blogapi.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.blogapi.config.ConcurrencyLimitProperties.Limit;
+
+/**
+ * Concurrency limit tự điều chỉnh theo latency quan sát được (thuật toán gradient)
+ *
+ * 🎯 Ý TƯỞNG:
+ * - longRtt: latency "bình thường" (EWMA chậm), shortRtt: latency hiện tại (EWMA nhanh)
+ * - gradient = longRtt / shortRtt (kẹp trong [0.5, 1]): latency tăng → queue đang hình thành
+ * → limit giảm; latency ổn định → limit tăng thêm sqrt(limit) mỗi sample
+ *
+ * 📚 CHI TIẾT:
+ * - Chỉ tăng limit khi inFlight >= limit / 2 (tránh limit phình lên lúc tải thấp)
+ * - longRtt trôi quá xa shortRtt (sau sự cố) → decay dần để limit phục hồi
+ * - tryAcquire: CAS lock-free; cập nhật limit: ReentrantLock (không pin virtual thread)
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    // Chấp nhận latency tăng 50% trước khi giảm limit
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientConcurrencyLimiter(Limit config, double smoothing) {
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = Math.max(config.getMaxLimit(), config.getMinLimit());
+        this.smoothing = smoothing;
+        this.limit = Math.min(Math.max(config.getInitialLimit(), minLimit), maxLimit);
+    }
+
+    /**
+     * @return số request đang chạy TRƯỚC khi acquire, -1 nếu đã vượt limit (phải shed)
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Request hoàn thành bình thường → dùng latency để điều chỉnh limit
+     *
+     * @param rttNanos       thời gian xử lý request
+     * @param inFlightBefore giá trị trả về từ tryAcquire
+     */
+    public void onSuccess(long rttNanos, int inFlightBefore) {
+        inFlight.decrementAndGet();
+        updateLock.lock();
+        try {
+            update(rttNanos, inFlightBefore + 1);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Request lỗi (5xx / exception): latency không đại diện → không cập nhật limit
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double rtt, int inFlightAtStart) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+        longRtt += (rtt - longRtt) * LONG_ALPHA;
+
+        // Latency đã giảm hẳn sau sự cố → kéo baseline xuống nhanh hơn EWMA
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        // Tải thấp: không có tín hiệu về giới hạn thật → giữ nguyên
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -9,8 +9,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+
+import com.example.blogapi.config.JwtProperties;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +32,12 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * 📚 FLOW:
  * Request → Filter → Extract Token → Validate → Set Auth → Controller
+ *
+ * ⚡ STATELESS MODE (app.jwt.stateless=true):
+ * - Principal dựng từ claims uid/role → không gọi UserDetailsService
+ *
+ * ⚠️ CẢ 2 MODE: user bị xoá/đổi role → chặn token cũ qua UserRevocationRegistry
+ * (account xoá async: row user còn đến cuối job, load từ DB vẫn thành công)
  */
 @Component
 @RequiredArgsConstructor
@@ -37,6 +46,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final JwtProperties jwtProperties;
+    private final UserRevocationRegistry userRevocationRegistry;
 
     /**
      * Filter logic chạy cho MỌI request
@@ -54,6 +66,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // ========== STEP 1: Extract JWT token từ header ==========
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String username;
 
         // Check Authorization header có đúng format không
@@ -67,12 +80,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         log.debug("JWT token extracted from header");
 
-        // ========== STEP 2: Extract username từ token ==========
+        // ========== STEP 2: Parse + verify token (1 lần duy nhất) ==========
         try {
-            username = jwtTokenProvider.extractUsername(jwt);
+            claims = jwtTokenProvider.parseClaims(jwt);
+            username = claims.getSubject();
             log.debug("Username extracted from JWT: {}", username);
         } catch (Exception e) {
-            log.error("Failed to extract username from JWT: {}", e.getMessage());
+            log.error("Failed to parse JWT: {}", e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
@@ -81,12 +95,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Check user chưa được authenticate (tránh duplicate)
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // Load user details từ database
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwtProperties.isStateless() ? jwtTokenProvider.toPrincipal(claims) : null;
+
+            if (userDetails == null) {
+                // Load user details từ principal cache (cache MISS mới query database)
+                // (token cũ không có uid/role cũng rơi vào nhánh này)
+                userDetails = userDetailsCache.get(username, userDetailsService::loadUserByUsername);
+            }
+
+            // Token cấp trước thời điểm revoke, hoặc account đang bị xoá async → không authenticate
+            if (!userDetails.isEnabled() || (userDetails instanceof UserPrincipal principal
+                    && userRevocationRegistry.isRevoked(principal.getId(), claims.getIssuedAt()))) {
+                log.warn("JWT token revoked for user: {}", username);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            // Validate token
-            if (jwtTokenProvider.validateToken(jwt, userDetails)) {
-                log.info("JWT token validated successfully for user: {}", username);
+            // Validate trên claims đã parse (không verify chữ ký lần nữa)
+            if (jwtTokenProvider.validateToken(claims, userDetails)) {
+                log.debug("JWT token validated successfully for user: {}", username);
 
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
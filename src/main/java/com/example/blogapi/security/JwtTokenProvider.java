@@ -1,9 +1,9 @@
 package com.example.blogapi.security;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -14,21 +14,46 @@ import org.springframework.stereotype.Component;
 import com.example.blogapi.config.JwtProperties;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * JWT Token Provider - Generate, validate và extract JWT tokens
+ *
+ * ⚡ PERFORMANCE:
+ * - Signing key và JwtParser được build 1 lần lúc khởi tạo (thread-safe, immutable)
+ * - Filter gọi parseClaims() đúng 1 lần/request (1 lần verify HMAC),
+ * rồi validate trên Claims đã parse
+ * - Token đã verify được cache theo digest (VerifiedTokenCache) tới khi hết hạn
+ * → request lặp lại với cùng token bỏ qua HMAC + JSON parse
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(JwtProperties jwtProperties, MeterRegistry meterRegistry,
+            TokenRevocationStore tokenRevocationStore) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = buildSigningKey(jwtProperties.getSecret());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(jwtProperties.getVerifiedCacheSize(), meterRegistry,
+                tokenRevocationStore);
+    }
 
     /**
      * Generate JWT token từ UserDetails
@@ -38,6 +63,11 @@ public class JwtTokenProvider {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserPrincipal principal) {
+            // Đủ dữ liệu để authorize mà không cần DB (stateless mode)
+            claims.put(CLAIM_USER_ID, principal.getId());
+            claims.put(CLAIM_ROLE, principal.getRole());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -60,7 +90,9 @@ public class JwtTokenProvider {
      * 2. Set subject (username)
      * 3. Set issued time (thời điểm tạo)
      * 4. Set expiration time (thời điểm hết hạn)
-     * 5. Sign với secret key
+     * 5. Set jti ngẫu nhiên → 2 token cấp cùng giây không trùng nhau
+     * (revoke token cũ khi logout không ảnh hưởng token mới)
+     * 6. Sign với secret key
      */
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
@@ -73,10 +105,76 @@ public class JwtTokenProvider {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .id(UUID.randomUUID().toString())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Parse + verify chữ ký + check expiration trong 1 lượt
+     * (token đã verify trước đó được lấy thẳng từ cache)
+     *
+     * @param token JWT token string
+     * @return Claims đã được verify
+     * @throws JwtException nếu token sai chữ ký, hết hạn hoặc sai format
+     */
+    public Claims parseClaims(String token) {
+        return verifiedTokenCache.getOrVerify(token,
+                verifiedToken -> jwtParser.parseSignedClaims(verifiedToken).getPayload());
+    }
+
+    /**
+     * Dựng principal trực tiếp từ claims (stateless mode)
+     *
+     * @return principal, hoặc null nếu token cũ không có claim uid/role
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(userId, claims.getSubject(), role);
+    }
+
+    /**
+     * Thu hồi token (logout, đổi mật khẩu, ...)
+     * Token không hợp lệ/đã hết hạn thì không cần thu hồi
+     *
+     * @param token JWT token string
+     */
+    public void revokeToken(String token) {
+        try {
+            Claims claims = parseClaims(token);
+            verifiedTokenCache.revoke(token, claims.getExpiration().getTime());
+            log.info("JWT token revoked for user: {}", claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Skip revoking invalid JWT token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Validate Claims đã parse với UserDetails (không parse lại token)
+     *
+     * @param claims      kết quả của parseClaims()
+     * @param userDetails UserDetails to validate against
+     * @return true if valid, false otherwise
+     */
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        String username = claims.getSubject();
+        boolean isValid = username != null
+                && username.equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
+
+        if (isValid) {
+            log.debug("JWT token validated successfully for user: {}", username);
+        } else {
+            log.warn("JWT token validation failed for user: {}", username);
+        }
+
+        return isValid;
+    }
+
     /**
      * Validate JWT token
      * 
@@ -86,17 +184,8 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-
-            if (isValid) {
-                log.debug("JWT token validated successfully for user: {}", username);
-            } else {
-                log.warn("JWT token validation failed for user: {}", username);
-            }
-
-            return isValid;
-        } catch (Exception e) {
+            return validateToken(parseClaims(token), userDetails);
+        } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT token validation error: {}", e.getMessage());
             return false;
         }
@@ -137,30 +226,19 @@ public class JwtTokenProvider {
      * - Return payload (claims)
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Check if token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parseClaims(token);
     }
 
     /**
-     * Get signing key từ secret
+     * Build signing key từ secret (chỉ gọi 1 lần trong constructor)
      * 
      * 🔐 SECURITY:
      * - Decode base64 secret
      * - Create HMAC SHA key
      * - Key này dùng để sign & verify JWT
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
+    private static SecretKey buildSigningKey(String secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.example.blogapi.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.blogapi.config.RateLimitProperties;
+import com.example.blogapi.config.RateLimitProperties.Policy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token bucket trong bộ nhớ, lock-free
+ *
+ * 🎯 CƠ CHẾ:
+ * - Mỗi bucket là 1 AtomicReference<State> bất biến (tokens, thời điểm refill)
+ * - tryConsume: tính refill theo thời gian trôi qua rồi CAS → không synchronized,
+ * request cùng key chỉ retry CAS khi tranh chấp
+ *
+ * 📚 IDLE EVICTION:
+ * - Bucket không dùng quá app.rate-limit.idle-timeout bị xoá định kỳ
+ * (lúc đó bucket chắc chắn đã đầy lại → xoá không làm thay đổi kết quả)
+ */
+@Component
+@Slf4j
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalTokenBucketStore(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LocalTokenBucketStore(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, Policy policy) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.computeIfAbsent(policy.getName() + ":" + key,
+                k -> new Bucket(policy.getCapacity(), now));
+        bucket.lastAccessNanos = now;
+
+        while (true) {
+            State current = bucket.state.get();
+            double elapsed = Math.max(0, now - current.refilledAtNanos());
+            double tokens = Math.min(policy.getCapacity(),
+                    current.tokens() + elapsed * policy.refillRatePerNanos());
+            boolean consumed = tokens >= 1;
+            State next = new State(consumed ? tokens - 1 : tokens, Math.max(now, current.refilledAtNanos()));
+
+            if (bucket.state.compareAndSet(current, next)) {
+                return ConsumptionProbe.of(consumed, next.tokens(), policy);
+            }
+        }
+    }
+
+    /**
+     * Dọn các bucket idle để map không phình theo số IP/user đã từng gọi
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long threshold = nanoClock.getAsLong() - properties.getIdleTimeout().toNanos();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.lastAccessNanos < threshold);
+        log.debug("Evicted {} idle rate-limit buckets", before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+        private volatile long lastAccessNanos;
+
+        Bucket(long capacity, long now) {
+            this.state = new AtomicReference<>(new State(capacity, now));
+            this.lastAccessNanos = now;
+        }
+    }
+}
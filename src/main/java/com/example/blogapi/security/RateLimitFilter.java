@@ -0,0 +1,153 @@
+package com.example.blogapi.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.example.blogapi.config.RateLimitProperties;
+import com.example.blogapi.config.RateLimitProperties.KeyType;
+import com.example.blogapi.config.RateLimitProperties.Policy;
+import com.example.blogapi.dto.response.ApiResponse;
+import com.example.blogapi.security.TokenBucketStore.ConsumptionProbe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rate limit theo route (chạy ngay sau JwtAuthenticationFilter)
+ *
+ * 🎯 NHIỆM VỤ:
+ * - Bảo vệ endpoint đắt (login, search, tạo comment) khỏi client spam
+ * - Key theo user đã đăng nhập hoặc theo IP (policy trong application.yml)
+ *
+ * 📚 HEADERS:
+ * - RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset (giây) cho mọi
+ * request thuộc policy
+ * - Vượt giới hạn → 429 + Retry-After
+ *
+ * ⚠️ IP lấy từ request.getRemoteAddr(): chạy sau proxy thì bật
+ * server.forward-headers-strategy để không bị giả mạo X-Forwarded-For
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final TokenBucketStore bucketStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<RoutePolicy> routePolicies;
+
+    public RateLimitFilter(RateLimitProperties properties,
+            LocalTokenBucketStore localTokenBucketStore,
+            RedisTokenBucketStore redisTokenBucketStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bucketStore = properties.getStore() == RateLimitProperties.Store.REDIS
+                ? redisTokenBucketStore
+                : localTokenBucketStore;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.routePolicies = properties.getPolicies().stream()
+                .map(policy -> new RoutePolicy(policy, PathPatternParser.defaultInstance.parse(policy.getPath())))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || findPolicy(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Policy policy = findPolicy(request);
+        ConsumptionProbe probe = bucketStore.tryConsume(resolveKey(request, policy), policy);
+
+        response.setHeader("RateLimit-Limit", Long.toString(policy.getCapacity()));
+        response.setHeader("RateLimit-Remaining", Long.toString(probe.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(toSeconds(probe.nanosUntilFull())));
+
+        if (probe.consumed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit exceeded - policy: {}, path: {}", policy.getName(), request.getRequestURI());
+        meterRegistry.counter("http.server.requests.rate-limited", "policy", policy.getName()).increment();
+        writeTooManyRequests(request, response, toSeconds(probe.nanosUntilRetry()));
+    }
+
+    private Policy findPolicy(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (RoutePolicy routePolicy : routePolicies) {
+            String method = routePolicy.policy().getMethod();
+            if ((method == null || method.equalsIgnoreCase(request.getMethod()))
+                    && routePolicy.pattern().matches(path)) {
+                return routePolicy.policy();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * USER: username nếu đã đăng nhập, anonymous → IP
+     */
+    private String resolveKey(HttpServletRequest request, Policy policy) {
+        if (policy.getKey() == KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletRequest request, HttpServletResponse response,
+            long retryAfterSeconds) throws IOException {
+        ApiResponse<Object> errorResponse = ApiResponse.<Object>builder()
+                .success(false)
+                .message("Bạn gửi quá nhiều yêu cầu, vui lòng thử lại sau " + retryAfterSeconds + " giây")
+                .data(null)
+                .timestamp(LocalDateTime.now())
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record RoutePolicy(Policy policy, PathPattern pattern) {
+    }
+}
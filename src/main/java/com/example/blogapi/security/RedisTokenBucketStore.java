@@ -0,0 +1,74 @@
+package com.example.blogapi.security;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.example.blogapi.config.RateLimitProperties.Policy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token bucket dùng chung cho cả cluster (app.rate-limit.store=redis)
+ *
+ * 🎯 CƠ CHẾ:
+ * - 1 Lua script: refill + consume + lưu state trong 1 round-trip, atomic trên Redis
+ * - Dùng TIME của Redis → các node lệch clock vẫn chung 1 mốc thời gian
+ * - Key tự hết hạn sau thời gian refill đầy → không cần idle eviction
+ *
+ * ⚠️ Redis lỗi → fallback về LocalTokenBucketStore (giới hạn theo từng node)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final String KEY_PREFIX = "blogapi:rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local consumed = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              consumed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return {consumed, tostring(tokens)}
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LocalTokenBucketStore fallback;
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, Policy policy) {
+        double ratePerMicros = policy.refillRatePerNanos() * 1_000;
+        long ttlMillis = Math.max(1, (long) Math.ceil(policy.getCapacity() / ratePerMicros / 1_000));
+
+        try {
+            List<?> result = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + policy.getName() + ":" + key),
+                    Long.toString(policy.getCapacity()), Double.toString(ratePerMicros), Long.toString(ttlMillis));
+
+            boolean consumed = ((Number) result.get(0)).longValue() == 1;
+            double tokens = Double.parseDouble(result.get(1).toString());
+            return ConsumptionProbe.of(consumed, tokens, policy);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Redis rate limit failed for policy '{}': {}. Falling back to local buckets.",
+                    policy.getName(), e.getMessage());
+            return fallback.tryConsume(key, policy);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.blogapi.security;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import com.example.blogapi.entity.Comment;
-import com.example.blogapi.entity.Post;
 import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.repository.CommentRepository;
 import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.ResourceOwner;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,12 +28,19 @@ import lombok.extern.slf4j.Slf4j;
  * 📚 SỬ DỤNG:
  * - @PreAuthorize("@resourceSecurityService.isPostAuthor(#id)")
  * - @PreAuthorize("@resourceSecurityService.isCommentAuthor(#id)")
+ *
+ * ⚡ PERFORMANCE:
+ * - Chỉ SELECT projection (user_id, username) thay vì load entity + lazy load User
+ * - Kết quả memoize trong request attributes → service được guard gọi lại
+ * findPostOwner/findCommentOwner không tốn thêm query
  */
 @Service("resourceSecurityService")
 @RequiredArgsConstructor
 @Slf4j
 public class ResourceSecurityService {
 
+    private static final String MEMO_PREFIX = ResourceSecurityService.class.getName() + ".";
+
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
 
@@ -42,36 +53,19 @@ public class ResourceSecurityService {
     public boolean isPostAuthor(Long postId) {
         log.debug("Checking post ownership for postId: {}", postId);
 
-        // 1. Get current authenticated user
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            log.warn("No authenticated user found");
+        UserDetails userDetails = currentUser();
+        if (userDetails == null) {
             return false;
         }
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String currentUsername = userDetails.getUsername();
-
-        // 2. Check if user is ADMIN (admin can do anything)
-        boolean isAdmin = userDetails.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-
-        if (isAdmin) {
-            log.debug("User {} is ADMIN, access granted", currentUsername);
+        if (isAdmin(userDetails)) {
+            log.debug("User {} is ADMIN, access granted", userDetails.getUsername());
             return true;
         }
 
-        // 3. Load post and check author
-        Post post = postRepository.findById(postId)
+        ResourceOwner owner = findPostOwner(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + postId));
 
-        String postAuthor = post.getUser().getUsername();
-        boolean isAuthor = postAuthor.equals(currentUsername);
-
-        log.debug("Post author: {}, Current user: {}, Is author: {}",
-                postAuthor, currentUsername, isAuthor);
-
-        return isAuthor;
+        return isOwner(userDetails, owner);
     }
 
     /**
@@ -84,36 +78,20 @@ public class ResourceSecurityService {
     public boolean isPostAuthorIncludingDeleted(Long postId) {
         log.debug("Checking post ownership (including deleted) for postId: {}", postId);
 
-        // 1. Get current authenticated user
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            log.warn("No authenticated user found");
+        UserDetails userDetails = currentUser();
+        if (userDetails == null) {
             return false;
         }
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String currentUsername = userDetails.getUsername();
-
-        // 2. Check if user is ADMIN (admin can do anything)
-        boolean isAdmin = userDetails.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-
-        if (isAdmin) {
-            log.debug("User {} is ADMIN, access granted", currentUsername);
+        if (isAdmin(userDetails)) {
+            log.debug("User {} is ADMIN, access granted", userDetails.getUsername());
             return true;
         }
 
-        // 3. Load post (including deleted) and check author
-        Post post = postRepository.findByIdIncludingDeleted(postId)
+        ResourceOwner owner = memoize("post-any:" + postId,
+                () -> postRepository.findOwnerByIdIncludingDeleted(postId))
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + postId));
 
-        String postAuthor = post.getUser().getUsername();
-        boolean isAuthor = postAuthor.equals(currentUsername);
-
-        log.debug("Post author: {}, Current user: {}, Is author: {}, Post deleted: {}",
-                postAuthor, currentUsername, isAuthor, post.isDeleted());
-
-        return isAuthor;
+        return isOwner(userDetails, owner);
     }
 
     /**
@@ -125,36 +103,33 @@ public class ResourceSecurityService {
     public boolean isCommentAuthor(Long commentId) {
         log.debug("Checking comment ownership for commentId: {}", commentId);
 
-        // 1. Get current authenticated user
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            log.warn("No authenticated user found");
+        UserDetails userDetails = currentUser();
+        if (userDetails == null) {
             return false;
         }
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String currentUsername = userDetails.getUsername();
-
-        // 2. Check if user is ADMIN
-        boolean isAdmin = userDetails.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-
-        if (isAdmin) {
-            log.debug("User {} is ADMIN, access granted", currentUsername);
+        if (isAdmin(userDetails)) {
+            log.debug("User {} is ADMIN, access granted", userDetails.getUsername());
             return true;
         }
 
-        // 3. Load comment and check author
-        Comment comment = commentRepository.findById(commentId)
+        ResourceOwner owner = findCommentOwner(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy comment với ID: " + commentId));
 
-        String commentAuthor = comment.getAuthor().getUsername();
-        boolean isAuthor = commentAuthor.equals(currentUsername);
+        return isOwner(userDetails, owner);
+    }
 
-        log.debug("Comment author: {}, Current user: {}, Is author: {}",
-                commentAuthor, currentUsername, isAuthor);
+    /**
+     * Author của post chưa bị xoá (memoize theo request)
+     */
+    public Optional<ResourceOwner> findPostOwner(Long postId) {
+        return memoize("post:" + postId, () -> postRepository.findOwnerById(postId));
+    }
 
-        return isAuthor;
+    /**
+     * Author + post của comment (memoize theo request)
+     */
+    public Optional<ResourceOwner> findCommentOwner(Long commentId) {
+        return memoize("comment:" + commentId, () -> commentRepository.findOwnerById(commentId));
     }
 
     /**
@@ -163,13 +138,59 @@ public class ResourceSecurityService {
      * @return true nếu user là ADMIN
      */
     public boolean isAdmin() {
+        UserDetails userDetails = currentUser();
+        return userDetails != null && isAdmin(userDetails);
+    }
+
+    // ========== HELPERS ==========
+
+    private UserDetails currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserDetails userDetails)) {
+            log.warn("No authenticated user found");
+            return null;
         }
+        return userDetails;
+    }
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    private boolean isAdmin(UserDetails userDetails) {
         return userDetails.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
     }
-}
\ No newline at end of file
+
+    /**
+     * So sánh theo user ID nếu principal có ID (UserPrincipal), ngược lại theo username
+     */
+    private boolean isOwner(UserDetails userDetails, ResourceOwner owner) {
+        boolean isAuthor = userDetails instanceof UserPrincipal principal
+                ? principal.getId().equals(owner.userId())
+                : owner.username().equals(userDetails.getUsername());
+
+        log.debug("Resource author: {}, Current user: {}, Is author: {}",
+                owner.username(), userDetails.getUsername(), isAuthor);
+        return isAuthor;
+    }
+
+    /**
+     * Memoize kết quả projection trong request attributes.
+     * Ngoài HTTP request (scheduler, job) → query trực tiếp
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<ResourceOwner> memoize(String key, Supplier<Optional<ResourceOwner>> query) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return query.get();
+        }
+
+        String attributeName = MEMO_PREFIX + key;
+        Object cached = attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return (Optional<ResourceOwner>) cached;
+        }
+
+        Optional<ResourceOwner> owner = query.get();
+        attributes.setAttribute(attributeName, owner, RequestAttributes.SCOPE_REQUEST);
+        return owner;
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.blogapi.security;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.example.blogapi.config.ResponseCacheProperties;
+import com.example.blogapi.service.ListGenerationService;
+import com.example.blogapi.service.PostViewService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cache response JSON đã serialize (kèm bản gzip) cho GET anonymous của posts / comments
+ * (chạy sau RateLimitFilter)
+ *
+ * 🎯 TẠI SAO:
+ * - Mỗi GET đọc DTO từ Redis (deserialize), bọc ApiResponse rồi Jackson serialize lại
+ * → với anonymous mọi người nhận cùng 1 chuỗi byte
+ * - HIT: ghi thẳng byte[] vào output stream, không qua DispatcherServlet / service / Jackson
+ *
+ * 📚 KEY = list generation + URL chuẩn hoá (path + query param route bind, đã sort):
+ * - Generation tăng sau commit cùng chỗ với evict object cache (ListChangedEvent)
+ * → dữ liệu đổi là key đổi, entry cũ tự hết hạn theo ttl
+ * - Generation đọc TRƯỚC khi chạy controller → entry không bao giờ cũ hơn generation của nó
+ * - Redis lỗi (không có generation) → bỏ qua cache, chạy request như bình thường
+ *
+ * ⚡ GZIP: nén 1 lần lúc ghi entry, client gửi Accept-Encoding: gzip nhận bản nén
+ *
+ * ⚠️ Chỉ cache 200 JSON của request không có Authorization (response không phụ thuộc user).
+ * Chi tiết post: HIT vẫn ghi nhận lượt xem qua PostViewService
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    // Query param mà controller thực sự bind → chỉ các param này vào key
+    private static final Set<String> PAGING = Set.of("page", "size", "sortBy", "sortDir");
+    private static final Set<String> POST_LIST = Set.of("page", "size", "sortBy", "sortDir", "fields", "view");
+
+    private static final List<Route> ROUTES = List.of(
+            route("/api/v1/posts", false, POST_LIST, vars -> new String[] { ListGenerationService.POSTS }),
+            route("/api/v1/posts/search", false, with(POST_LIST, "keyword"),
+                    vars -> new String[] { ListGenerationService.POSTS }),
+            route("/api/v1/posts/recent", false, Set.of("days", "page", "size", "fields", "view"),
+                    vars -> new String[] { ListGenerationService.POSTS }),
+            route("/api/v1/posts/user/{userId:\\d+}", false, POST_LIST,
+                    vars -> new String[] { ListGenerationService.POSTS }),
+            route("/api/v1/posts/{id:\\d+}", true, Set.of(), vars -> new String[] { ListGenerationService.POSTS }),
+            route("/api/v1/posts/{postId:\\d+}/comments", false, PAGING, vars -> new String[] {
+                    ListGenerationService.COMMENTS,
+                    ListGenerationService.commentsOf(Long.valueOf(vars.get("postId"))) }));
+
+    private final ResponseCacheProperties properties;
+    private final ListGenerationService listGenerationService;
+    private final PostViewService postViewService;
+    private final Cache<String, CachedResponse> responses;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, ListGenerationService listGenerationService,
+            PostViewService postViewService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.listGenerationService = listGenerationService;
+        this.postViewService = postViewService;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.hits = meterRegistry.counter("http.server.response-cache", "result", "hit");
+        this.misses = meterRegistry.counter("http.server.response-cache", "result", "miss");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || isAuthenticated()
+                || findRoute(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RouteMatch match = findRoute(request);
+        String generation = listGenerationService.etag(match.scopes());
+        if (generation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = generation + " " + normalizedUrl(request, match.route().params());
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            if (match.route().postView()) {
+                postViewService.recordView(Long.valueOf(match.variables().get("id")), request.getRemoteAddr(),
+                        request.getHeader(HttpHeaders.USER_AGENT));
+            }
+            write(cached, request, response);
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        CachedResponse fresh = toCachedResponse(wrapper);
+        if (fresh == null) {
+            // 304, lỗi, không phải JSON, quá lớn... → trả nguyên như controller ghi
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        responses.put(key, fresh);
+        // Header của controller (ETag, Cache-Control...) đã ghi vào response gốc, chỉ còn body
+        write(fresh, request, response);
+    }
+
+    /**
+     * Chỉ cache 200 + application/json, không vượt max-entry-size
+     */
+    private CachedResponse toCachedResponse(ContentCachingResponseWrapper wrapper) throws IOException {
+        if (wrapper.getStatus() != HttpStatus.OK.value() || wrapper.getContentType() == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()))
+                || wrapper.getContentSize() > properties.getMaxEntrySize().toBytes()) {
+            return null;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        byte[] gzip = body.length >= properties.getGzipMinSize().toBytes() ? gzip(body) : null;
+        return new CachedResponse(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                wrapper.getHeader(HttpHeaders.LAST_MODIFIED), wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                body, gzip);
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        setIfPresent(response, HttpHeaders.ETAG, cached.etag());
+        setIfPresent(response, HttpHeaders.LAST_MODIFIED, cached.lastModified());
+        setIfPresent(response, HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // Client đang giữ đúng bản này → 304, không gửi body
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (cached.etag() != null && ifNoneMatch != null && ifNoneMatch.contains(cached.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        byte[] body = cached.body();
+        if (cached.gzip() != null && acceptsGzip(request)) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * path + query param controller bind, sort theo tên (?size=10&page=0 và ?page=0&size=10 là 1 entry)
+     *
+     * ⚠️ Param lạ (?x=<random>) bị bỏ khỏi key: client anonymous không tạo được vô số entry
+     * để đẩy trang nóng ra khỏi cache
+     */
+    static String normalizedUrl(HttpServletRequest request, Set<String> params) {
+        String path = request.getRequestURI();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        StringBuilder url = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            if (!params.contains(param.getKey())) {
+                continue;
+            }
+            for (String value : param.getValue()) {
+                url.append(separator)
+                        .append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return url.toString();
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" = client từ chối gzip
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void setIfPresent(HttpServletResponse response, String name, String value) {
+        if (value != null) {
+            response.setHeader(name, value);
+        }
+    }
+
+    private static boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    private static RouteMatch findRoute(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Route route : ROUTES) {
+            PathPattern.PathMatchInfo info = route.pattern().matchAndExtract(path);
+            if (info != null) {
+                return new RouteMatch(route, info.getUriVariables());
+            }
+        }
+        return null;
+    }
+
+    private static Route route(String pattern, boolean postView, Set<String> params,
+            Function<Map<String, String>, String[]> scopes) {
+        return new Route(PathPatternParser.defaultInstance.parse(pattern), postView, params, scopes);
+    }
+
+    private static Set<String> with(Set<String> params, String extra) {
+        Set<String> all = new HashSet<>(params);
+        all.add(extra);
+        return Set.copyOf(all);
+    }
+
+    /**
+     * @param postView true: HIT vẫn phải ghi nhận lượt xem (chi tiết post)
+     * @param params   query param được đưa vào key
+     * @param scopes   list generation quyết định nội dung response
+     */
+    private record Route(PathPattern pattern, boolean postView, Set<String> params,
+            Function<Map<String, String>, String[]> scopes) {
+    }
+
+    private record RouteMatch(Route route, Map<String, String> variables) {
+        String[] scopes() {
+            return route.scopes().apply(variables);
+        }
+    }
+
+    record CachedResponse(String contentType, String etag, String lastModified, String cacheControl,
+            byte[] body, byte[] gzip) {
+
+        int weight() {
+            return body.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
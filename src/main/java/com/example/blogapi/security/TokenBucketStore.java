@@ -0,0 +1,32 @@
+package com.example.blogapi.security;
+
+import com.example.blogapi.config.RateLimitProperties.Policy;
+
+/**
+ * Nơi lưu token bucket cho RateLimitFilter (local hoặc Redis)
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Lấy 1 token từ bucket của key theo policy
+     */
+    ConsumptionProbe tryConsume(String key, Policy policy);
+
+    /**
+     * Kết quả lấy token
+     *
+     * @param consumed        true nếu request được phép đi tiếp
+     * @param remaining       số token còn lại
+     * @param nanosUntilRetry thời gian tới khi có token tiếp theo (0 nếu consumed)
+     * @param nanosUntilFull  thời gian tới khi bucket đầy lại
+     */
+    record ConsumptionProbe(boolean consumed, long remaining, long nanosUntilRetry, long nanosUntilFull) {
+
+        static ConsumptionProbe of(boolean consumed, double tokens, Policy policy) {
+            double ratePerNanos = policy.refillRatePerNanos();
+            long untilRetry = consumed ? 0 : (long) Math.ceil((1 - tokens) / ratePerNanos);
+            long untilFull = (long) Math.ceil((policy.getCapacity() - tokens) / ratePerNanos);
+            return new ConsumptionProbe(consumed, (long) Math.floor(tokens), untilRetry, untilFull);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.blogapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Danh sách access token đã thu hồi (logout), key = SHA-256 digest của token
+ *
+ * 🎯 TẠI SAO:
+ * - Lookup mỗi request phải rẻ → set trong bộ nhớ, không query DB/Redis
+ * - Entry sống tới đúng exp của token (access token ngắn hạn → set luôn nhỏ)
+ *
+ * 📚 ĐỒNG BỘ GIỮA CÁC NODE:
+ * - revoke(): ghi local + key revoked-token:{digest} (TTL tới exp) + publish "digest:exp"
+ * - Node đang chạy nhận message (onMessage) và ghi vào set của mình
+ * - Node mới khởi động / vừa subscribe lại đọc các key còn sống (loadFromRedis)
+ * → không bỏ lỡ logout xảy ra trước khi nó nghe được channel
+ * - Redis lỗi → chỉ log warn, node hiện tại vẫn chặn được token
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "blogapi:auth:token-revoked";
+    static final String KEY_PREFIX = "blogapi:auth:revoked-token:";
+
+    private final Cache<String, Long> revoked;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public TokenRevocationStore(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(VerifiedTokenCache.<Long>expireAt(Long::longValue))
+                .build();
+    }
+
+    /**
+     * Nạp các token đã revoke còn hạn (khi khởi động và mỗi lần listener subscribe lại)
+     */
+    @PostConstruct
+    public void loadFromRedis() {
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = stringRedisTemplate.scan(
+                    ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                }
+            }
+            if (keys.isEmpty()) {
+                return;
+            }
+            List<String> expiries = stringRedisTemplate.opsForValue().multiGet(keys);
+            if (expiries == null) {
+                return;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                // Key hết hạn giữa SCAN và MGET → null
+                if (expiries.get(i) != null) {
+                    revoked.put(keys.get(i).substring(KEY_PREFIX.length()), Long.valueOf(expiries.get(i)));
+                }
+            }
+            log.info("Loaded {} revoked tokens from Redis", keys.size());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to load revoked tokens from Redis: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String digest) {
+        return revoked.getIfPresent(digest) != null;
+    }
+
+    /**
+     * Thu hồi token trên node hiện tại và thông báo cho các node khác
+     */
+    public void revoke(String digest, long expiresAtMillis) {
+        revoked.put(digest, expiresAtMillis);
+        long ttlMillis = expiresAtMillis - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + digest, Long.toString(expiresAtMillis),
+                    Duration.ofMillis(ttlMillis));
+            stringRedisTemplate.convertAndSend(REVOCATION_CHANNEL, digest + ":" + expiresAtMillis);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to broadcast token revocation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 2) {
+            return;
+        }
+        revoked.put(parts[0], Long.valueOf(parts[1]));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blogapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache UserDetails trong process cho JwtAuthenticationFilter
+ *
+ * 🎯 TẠI SAO:
+ * - Trước đây MỖI request có token đều chạy findByUsername → gấp đôi số query
+ * - Cache có giới hạn (maximumSize) + TTL → bộ nhớ không phình, dữ liệu cũ tự hết hạn
+ *
+ * 📚 INVALIDATION:
+ * - invalidate(): xoá local + publish username lên Redis channel
+ * - Các node khác nhận message (onMessage) và xoá entry của mình
+ * - Redis lỗi → chỉ log warn, TTL vẫn giới hạn thời gian dữ liệu cũ tồn tại
+ */
+@Component
+@Slf4j
+public class UserDetailsCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "blogapi:user-details:invalidate";
+
+    private final AsyncCache<String, UserDetails> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public UserDetailsCache(StringRedisTemplate stringRedisTemplate,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    /**
+     * Lấy UserDetails từ cache, cache MISS → gọi loader (query DB)
+     *
+     * ⚠️ KHÔNG dùng Cache.get(key, loader): loader chạy trong lock của ConcurrentHashMap.compute
+     * → JDBC bên trong synchronized pin carrier thread khi chạy virtual threads
+     * 📚 Chỉ đặt future rỗng dưới lock; thread tạo future tự load NGOÀI lock,
+     * request cùng username chờ trên future (không load trùng)
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        CompletableFuture<UserDetails> placeholder = new CompletableFuture<>();
+        CompletableFuture<UserDetails> future = cache.get(username, (key, executor) -> placeholder);
+
+        if (future == placeholder) {
+            try {
+                placeholder.complete(loader.apply(username));
+            } catch (RuntimeException e) {
+                // Future lỗi bị Caffeine tự xoá khỏi cache
+                placeholder.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Xoá entry trên node hiện tại và thông báo cho các node khác
+     */
+    public void invalidate(String username) {
+        cache.synchronous().invalidate(username);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, username);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to broadcast principal invalidation for '{}': {}. Other nodes will expire it by TTL.",
+                    username, e.getMessage());
+        }
+    }
+
+    /**
+     * Nhận invalidation từ node khác (hoặc chính node này)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String username = new String(message.getBody(), StandardCharsets.UTF_8);
+        cache.synchronous().invalidate(username);
+        log.debug("Principal cache invalidated for '{}'", username);
+    }
+}
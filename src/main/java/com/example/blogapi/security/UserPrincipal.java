@@ -0,0 +1,56 @@
+package com.example.blogapi.security;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import lombok.Getter;
+
+/**
+ * UserDetails kèm user ID
+ *
+ * 🎯 TẠI SAO:
+ * - Ownership check / stateless mode cần user ID mà không phải query lại DB
+ * - Kế thừa User của Spring Security → code cũ cast sang UserDetails vẫn chạy
+ */
+@Getter
+public class UserPrincipal extends User {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public UserPrincipal(Long id, String username, String password,
+            Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, true, authorities);
+    }
+
+    /**
+     * @param enabled false khi account đang bị xoá async → login (DisabledException) và
+     *                JwtAuthenticationFilter đều từ chối
+     */
+    public UserPrincipal(Long id, String username, String password, boolean enabled,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Principal dựng từ JWT claims (stateless mode): không có password
+     */
+    public static UserPrincipal fromClaims(Long id, String username, String role) {
+        return new UserPrincipal(id, username, "", Collections.singleton(new SimpleGrantedAuthority(role)));
+    }
+
+    /**
+     * Role duy nhất của user (ROLE_USER / ROLE_ADMIN)
+     */
+    public String getRole() {
+        return getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse("ROLE_USER");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.blogapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.blogapi.config.JwtProperties;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Danh sách user bị thu hồi token (JwtAuthenticationFilter kiểm tra ở cả 2 mode)
+ *
+ * 🎯 TẠI SAO:
+ * - Stateless mode không đọc DB mỗi request → user bị xoá/đổi role vẫn còn token cũ
+ * - DB mode: account xoá async còn row user đến cuối job → load principal vẫn thành công
+ * - Chỉ lưu userId → thời điểm revoke (epoch giây): token có iat <= thời điểm đó bị từ chối
+ * - Entry tự bị dọn sau app.jwt.expiration (mọi token cũ đều đã hết hạn) → set luôn nhỏ
+ *
+ * 📚 ĐỒNG BỘ GIỮA CÁC NODE:
+ * - Redis hash giữ trạng thái (node mới khởi động đọc lại)
+ * - Redis pub/sub báo cho các node đang chạy cập nhật map local
+ * - Redis lỗi → chỉ log warn, node hiện tại vẫn chặn được
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRevocationRegistry implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "blogapi:auth:user-revoked";
+    static final String REVOCATION_HASH = "blogapi:auth:revoked-users";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JwtProperties jwtProperties;
+
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Nạp danh sách revoke hiện có (khi khởi động và mỗi lần listener subscribe lại)
+     */
+    @PostConstruct
+    public void loadFromRedis() {
+        try {
+            stringRedisTemplate.<String, String>opsForHash().entries(REVOCATION_HASH)
+                    .forEach((userId, epochSecond) -> revokedAt.merge(Long.valueOf(userId),
+                            Long.valueOf(epochSecond), Math::max));
+            log.info("Loaded {} revoked users from Redis", revokedAt.size());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to load revoked users from Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Thu hồi mọi token của user được cấp tới thời điểm hiện tại
+     */
+    public void revokeTokensOf(Long userId) {
+        long now = System.currentTimeMillis() / 1000;
+        revokedAt.merge(userId, now, Math::max);
+
+        try {
+            stringRedisTemplate.opsForHash().put(REVOCATION_HASH, userId.toString(), Long.toString(now));
+            stringRedisTemplate.convertAndSend(REVOCATION_CHANNEL, userId + ":" + now);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Failed to broadcast token revocation for user ID {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Token của user có bị thu hồi không (so sánh iat với thời điểm revoke)
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedEpochSecond = revokedAt.get(userId);
+        if (revokedEpochSecond == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedEpochSecond;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 2) {
+            return;
+        }
+        revokedAt.merge(Long.valueOf(parts[0]), Long.valueOf(parts[1]), Math::max);
+    }
+
+    /**
+     * Dọn entry cũ hơn thời gian sống của token
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void pruneExpired() {
+        long threshold = (System.currentTimeMillis() - jwtProperties.getExpiration()) / 1000;
+        revokedAt.entrySet().removeIf(entry -> {
+            if (entry.getValue() >= threshold) {
+                return false;
+            }
+            try {
+                stringRedisTemplate.opsForHash().delete(REVOCATION_HASH, entry.getKey().toString());
+            } catch (RuntimeException e) {
+                log.debug("Failed to prune revoked user {} from Redis: {}", entry.getKey(), e.getMessage());
+            }
+            return true;
+        });
+    }
+}
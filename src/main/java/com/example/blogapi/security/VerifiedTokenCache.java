@@ -0,0 +1,139 @@
+package com.example.blogapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache token đã verify: SHA-256(token) → Claims + thời điểm hết hạn
+ *
+ * 🎯 TẠI SAO:
+ * - Client dùng lại cùng 1 bearer token tới 24h, hàng chục request/phút
+ * - Request lặp lại chỉ tốn 1 lần SHA-256 thay vì HMAC verify + Base64 + JSON parse
+ *
+ * 📚 EVICTION:
+ * - Entry sống đúng tới claim exp của token (Expiry theo từng entry)
+ * - revoke(): xoá entry + ghi digest vào TokenRevocationStore (đồng bộ giữa các node)
+ * - maximumSize giới hạn bộ nhớ
+ *
+ * 📊 METRICS:
+ * - cache.gets{cache=jwt.verified-tokens,result=hit|miss} → hit rate
+ * - jwt.verification (timer): thời gian verify thật khi cache MISS
+ * - jwt.verification.saved (seconds): ước lượng CPU tiết kiệm = số hit × thời gian verify trung bình
+ *
+ * ⚠️ Key là digest, không giữ raw token trong heap
+ */
+class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+
+    private final Cache<String, VerifiedToken> verified;
+    private final TokenRevocationStore revocationStore;
+    private final Timer verificationTimer;
+    private final DoubleAdder savedNanos = new DoubleAdder();
+
+    VerifiedTokenCache(long maximumSize, MeterRegistry meterRegistry, TokenRevocationStore revocationStore) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(expireAt(VerifiedToken::expiresAtMillis))
+                .recordStats()
+                .build();
+        this.revocationStore = revocationStore;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Thời gian verify chữ ký + parse JWT khi cache MISS")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.verification.saved", savedNanos,
+                nanos -> nanos.sum() / TimeUnit.SECONDS.toNanos(1))
+                .description("CPU ước tính tiết kiệm nhờ cache hit")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Trả Claims từ cache, cache MISS → verifier (HMAC + parse) rồi lưu lại
+     *
+     * @throws JwtException nếu token đã bị revoke hoặc verifier từ chối
+     */
+    Claims getOrVerify(String token, Function<String, Claims> verifier) {
+        String digest = digest(token);
+
+        if (revocationStore.isRevoked(digest)) {
+            throw new JwtException("JWT token has been revoked");
+        }
+
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            savedNanos.add(verificationTimer.mean(TimeUnit.NANOSECONDS));
+            return cached.claims();
+        }
+
+        Claims claims = verificationTimer.record(() -> verifier.apply(token));
+        if (claims.getExpiration() != null) {
+            verified.put(digest, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * Thu hồi token: các request sau bị từ chối tới khi token tự hết hạn
+     */
+    void revoke(String token, long expiresAtMillis) {
+        String digest = digest(token);
+        verified.invalidate(digest);
+        revocationStore.revoke(digest, expiresAtMillis);
+    }
+
+    /**
+     * Mỗi entry hết hạn đúng tại thời điểm exp của token (tính lại khi ghi đè)
+     */
+    static <V> Expiry<String, V> expireAt(ToLongFunction<V> expiresAtMillis) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, V value, long currentTime) {
+                long remainingMillis = expiresAtMillis.applyAsLong(value) - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 luôn có sẵn trên mọi JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.blogapi.service;
 
+import java.util.Collections;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.example.blogapi.config.JwtProperties;
 import com.example.blogapi.dto.request.AuthRequest;
+import com.example.blogapi.dto.request.RefreshTokenRequest;
 import com.example.blogapi.dto.response.AuthResponse;
+import com.example.blogapi.entity.User;
 import com.example.blogapi.security.JwtTokenProvider;
+import com.example.blogapi.security.UserPrincipal;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +27,7 @@ public class AuthService {
         private final AuthenticationManager authenticationManager;
         private final JwtTokenProvider jwtTokenProvider;
         private final JwtProperties jwtProperties;
+        private final RefreshTokenService refreshTokenService;
 
         /**
          * Login và generate JWT token
@@ -70,15 +77,57 @@ public class AuthService {
 
                 log.debug("Role extracted from authorities: {}", role);
 
-                // ========== STEP 5: Build Response ==========
+                // ========== STEP 5: Issue refresh token ==========
+                // Client dùng refresh token khi access token hết hạn → không phải BCrypt lại
+                Long userId = ((UserPrincipal) userDetails).getId();
+                String refreshToken = refreshTokenService.issue(userId);
+
+                // ========== STEP 6: Build Response ==========
                 // ✅ Tất cả data lấy từ UserDetails/Authentication
                 // ✅ Không cần query DB thêm lần nữa
+                return buildResponse(token, refreshToken, userDetails.getUsername(), role);
+        }
+
+        /**
+         * Đổi refresh token lấy access token mới (rotation)
+         *
+         * ⚡ Không chạy BCrypt: 1 SELECT token + user, revoke token cũ, lưu token mới
+         * → role mới nhất của user được đưa vào access token
+         */
+        public AuthResponse refresh(RefreshTokenRequest request) {
+                RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+                User user = rotation.user();
+
+                UserPrincipal principal = new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                                Collections.singleton(new SimpleGrantedAuthority(user.getRole())));
+                String token = jwtTokenProvider.generateToken(principal);
+                log.debug("Access token refreshed for user: {}", user.getUsername());
+
+                return buildResponse(token, rotation.refreshToken(), user.getUsername(), user.getRole());
+        }
+
+        /**
+         * Logout: revoke refresh token family + access token hiện tại
+         *
+         * @param accessToken access token từ Authorization header (có thể null)
+         */
+        public void logout(String accessToken, RefreshTokenRequest request) {
+                refreshTokenService.revoke(request.getRefreshToken());
+                if (accessToken != null) {
+                        jwtTokenProvider.revokeToken(accessToken);
+                }
+                log.info("Logout completed");
+        }
+
+        private AuthResponse buildResponse(String token, String refreshToken, String username, String role) {
                 return AuthResponse.builder()
                                 .token(token)
                                 .type("Bearer")
-                                .username(userDetails.getUsername())
+                                .username(username)
                                 .role(role)
                                 .expiresIn(jwtProperties.getExpiration() / 1000)
+                                .refreshToken(refreshToken)
+                                .refreshExpiresIn(jwtProperties.getRefreshExpiration() / 1000)
                                 .build();
         }
 }
@@ -0,0 +1,121 @@
+package com.example.blogapi.service;
+
+import java.util.Collection;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.blogapi.security.UserDetailsCache;
+import com.example.blogapi.security.UserRevocationRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evict cache chính xác theo key cho các thao tác xoá set-based
+ * (bulk DELETE / ON DELETE CASCADE không đi qua @CacheEvict từng entity)
+ *
+ * 🎯 CƠ CHẾ:
+ * - Nếu đang trong transaction → evict sau khi COMMIT
+ * (tránh request khác đọc DB cũ rồi ghi lại vào cache)
+ * - Nếu không có transaction → evict ngay
+ * - Danh sách chứa entity bị xoá cũng đổi → ListChangedEvent (ETag của list endpoints)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationService {
+
+    private final CacheManager cacheManager;
+    private final UserDetailsCache userDetailsCache;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void evictPost(Long postId) {
+        afterCommit(() -> evict("posts", postId));
+    }
+
+    public void evictPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> postIds.forEach(id -> evict("posts", id)));
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS));
+    }
+
+    public void evictUser(Long userId) {
+        afterCommit(() -> evict("users", userId));
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.USERS));
+    }
+
+    /**
+     * Principal cache của JWT filter (local + broadcast sang các node khác)
+     * + thu hồi token đã cấp (stateless mode không đọc lại DB)
+     */
+    public void evictPrincipal(Long userId, String username) {
+        afterCommit(() -> {
+            userDetailsCache.invalidate(username);
+            userRevocationRegistry.revokeTokensOf(userId);
+        });
+    }
+
+    /**
+     * Trending chỉ có 1 entry (toàn bộ top N) → evict đúng key đó
+     */
+    public void evictTrendingPosts() {
+        afterCommit(() -> evict("trendingPosts", TrendingPostService.CACHE_KEY));
+    }
+
+    /**
+     * Comments cache key = postId_page_size nên không evict theo từng key được
+     */
+    public void evictAllComments() {
+        afterCommit(() -> clear("comments"));
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.COMMENTS));
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+            log.debug("Evicted cache '{}' key '{}'", cacheName, key);
+        } catch (RuntimeException e) {
+            // Graceful degradation giống CustomCacheErrorHandler: entry sẽ hết hạn theo TTL
+            log.warn("⚠️ Cache EVICT failed - cache: '{}', key: '{}', error: {}.", cacheName, key, e.getMessage());
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.clear();
+            log.debug("Cleared cache '{}'", cacheName);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Cache CLEAR failed - cache: '{}', error: {}.", cacheName, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
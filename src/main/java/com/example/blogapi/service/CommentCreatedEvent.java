@@ -0,0 +1,7 @@
+package com.example.blogapi.service;
+
+/**
+ * Phát ra từ CommentService.createComment, xử lý SAU COMMIT (HotPostService cộng score)
+ */
+public record CommentCreatedEvent(Long commentId, Long postId) {
+}
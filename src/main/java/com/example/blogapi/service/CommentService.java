@@ -3,6 +3,7 @@ package com.example.blogapi.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.cache.annotation.CacheEvict;
@@ -21,7 +22,9 @@ import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.CommentMapper;
 import com.example.blogapi.repository.CommentRepository;
 import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.ResourceOwner;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.ResourceSecurityService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +37,8 @@ public class CommentService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final CommentMapper commentMapper;
+    private final ResourceSecurityService resourceSecurityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @PreAuthorize("isAuthenticated()")
@@ -50,12 +55,19 @@ public class CommentService {
         Comment comment = new Comment();
         comment.setBody(request.getBody());
 
+        // Gắn post/author ở phía owning, KHÔNG đụng tới User.comments
+        // → số statement không phụ thuộc vào lịch sử comment của author
         comment.setPost(post);
-        author.addComment(comment);
+        comment.setAuthor(author);
 
         Comment savedComment = commentRepository.save(comment);
 
         log.info("Comment created successfully with ID: {}", savedComment.getId());
+
+        // Cộng score "hot" cho post sau commit (HotPostService)
+        eventPublisher.publishEvent(new CommentCreatedEvent(savedComment.getId(), postId));
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.commentsOf(postId)));
+
         return commentMapper.toCommentResponse(savedComment);
     }
 
@@ -151,21 +163,23 @@ public class CommentService {
     public CommentResponse updateComment(Long postId, Long commentId, CommentUpdateRequest request) {
         log.info("Updating comment ID {} for post ID {} - evicting comments cache", commentId, postId);
 
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Không tìm thấy post với ID: " + postId);
-        }
-
-        Comment comment = commentRepository.findById(commentId)
+        // 1 SELECT cho comment + post + author (thay cho existsById(post) rồi findById(comment))
+        Comment comment = commentRepository.findByIdWithPostAndAuthor(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy comment với ID " + commentId));
 
         if (!comment.getPost().getId().equals(postId)) {
             throw new IllegalArgumentException("Bình luận không thuộc về bài viết này");
         }
 
+        if (comment.getPost().isDeleted()) {
+            throw new ResourceNotFoundException("Không tìm thấy post với ID: " + postId);
+        }
+
         comment.setBody(request.getBody());
         Comment updatedComment = commentRepository.save(comment);
 
         log.info("Comment updated successfully with ID: {}", updatedComment.getId());
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.commentsOf(postId)));
         return commentMapper.toCommentResponse(updatedComment);
     }
 
@@ -175,14 +189,16 @@ public class CommentService {
     public void deleteComment(Long postId, Long commentId) {
         log.warn("Deleting comment ID {} from post ID {} - evicting comments cache", commentId, postId);
 
-        Comment comment = commentRepository.findById(commentId)
+        // Ownership projection (kèm post_id) đã được @PreAuthorize memoize → không load comment
+        ResourceOwner owner = resourceSecurityService.findCommentOwner(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy bình luận với ID: " + commentId));
 
-        if (!comment.getPost().getId().equals(postId)) {
+        if (!owner.postId().equals(postId)) {
             throw new IllegalArgumentException("Bình luận không thuộc về bài viết này.");
         }
 
-        commentRepository.delete(comment);
+        commentRepository.deleteCommentById(commentId);
         log.info("Comment with ID {} deleted successfully", commentId);
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.commentsOf(postId)));
     }
 }
\ No newline at end of file
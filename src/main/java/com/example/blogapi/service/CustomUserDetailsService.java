@@ -4,18 +4,23 @@ import java.util.Collections;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.blogapi.entity.User;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.UserPrincipal;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
@@ -24,10 +29,25 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(
                         () -> new UsernameNotFoundException("Không tìm thấy người dùng với username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new UserPrincipal(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
+                !user.isDeleting(),
                 Collections.singleton(new SimpleGrantedAuthority(user.getRole())));
     }
 
+    /**
+     * Lưu hash mới khi DaoAuthenticationProvider upgrade encoding (đổi BCrypt cost)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        log.info("Password hash upgraded for user: {}", user.getUsername());
+
+        Long id = user instanceof UserPrincipal principal ? principal.getId() : null;
+        return new UserPrincipal(id, user.getUsername(), newPassword, user.isEnabled(), user.getAuthorities());
+    }
+
 }
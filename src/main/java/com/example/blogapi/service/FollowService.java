@@ -0,0 +1,77 @@
+package com.example.blogapi.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blogapi.exception.ResourceNotFoundException;
+import com.example.blogapi.repository.FollowRepository;
+import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.util.SecurityUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follow / unfollow của user hiện tại
+ *
+ * 📚 Mỗi thao tác:
+ * - Cập nhật follows + follower_count của followee trong cùng transaction
+ * - Xoá timeline của follower sau commit (rebuild ở lần đọc kế tiếp với follow graph mới)
+ * - Idempotent: follow 2 lần / unfollow khi chưa follow không lỗi, không đổi follower_count
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+
+    @Transactional
+    @PreAuthorize("isAuthenticated()")
+    public void follow(Long followeeId) {
+        Long followerId = currentUserId();
+        if (followerId.equals(followeeId)) {
+            throw new IllegalArgumentException("Không thể tự follow chính mình");
+        }
+        // INSERT ... ON CONFLICT DO NOTHING: follow đồng thời không vượt qua cùng 1 lần check
+        if (followRepository.insertIfAbsent(followerId, followeeId, LocalDateTime.now()) == 0) {
+            if (!userRepository.existsById(followeeId)) {
+                throw new ResourceNotFoundException("Không tìm thấy user với ID: " + followeeId);
+            }
+            return;
+        }
+
+        // Chỉ row vừa được INSERT mới được cộng follower_count
+        userRepository.adjustFollowerCount(followeeId, 1);
+
+        timelineService.evictTimeline(followerId);
+        log.info("User ID {} followed user ID {}", followerId, followeeId);
+    }
+
+    @Transactional
+    @PreAuthorize("isAuthenticated()")
+    public void unfollow(Long followeeId) {
+        Long followerId = currentUserId();
+        if (followRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId) == 0) {
+            return;
+        }
+
+        userRepository.adjustFollowerCount(followeeId, -1);
+        timelineService.evictTimeline(followerId);
+        log.info("User ID {} unfollowed user ID {}", followerId, followeeId);
+    }
+
+    private static Long currentUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException("Không xác định được user hiện tại");
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.blogapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Xếp hạng "hot" trong memory: score giảm theo hàm mũ (half-life), top-K đọc O(K)
+ *
+ * 🎯 LOG-SCORE KHÔNG PHỤ THUỘC THỜI GIAN:
+ * - score(t) = Σ weight_i * 2^(-(t - t_i) / halfLife)
+ * - Lưu key = ln(score(t)) + λt (λ = ln2 / halfLife) → key KHÔNG đổi theo thời gian,
+ * chỉ tăng khi có event mới → không cần decay lại toàn bộ posts định kỳ
+ * - So sánh key = so sánh score tại cùng thời điểm → thứ tự top-K luôn đúng
+ * - Thêm event: key' = logSumExp(key, λt + ln(weight)), CAS trên AtomicLong (lock-free)
+ *
+ * 📚 TOP-K:
+ * - Snapshot immutable (volatile) → reader không lock, O(K)
+ * - admission = key nhỏ nhất trong top-K: event có key thấp hơn (long tail) không chạm lock
+ * - Key chỉ tăng → post đã rơi khỏi top-K vào lại được khi vượt admission
+ */
+public class HotPostRanker {
+
+    public record Ranked(Long postId, double logScore) {
+    }
+
+    private static final Comparator<Ranked> HIGHEST_FIRST = Comparator
+            .comparingDouble(Ranked::logScore).reversed()
+            .thenComparing(Ranked::postId);
+
+    private static final long EMPTY = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+
+    private final double decayPerMilli;
+    private final int capacity;
+
+    private final Map<Long, AtomicLong> scores = new ConcurrentHashMap<>();
+    private final ReentrantLock topLock = new ReentrantLock();
+    private volatile List<Ranked> top = List.of();
+    private volatile double admission = Double.NEGATIVE_INFINITY;
+
+    public HotPostRanker(Duration halfLife, int capacity) {
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Ghi nhận 1 event (view, comment, ...) với trọng số weight tại thời điểm nowMillis
+     */
+    public void record(Long postId, double weight, long nowMillis) {
+        AtomicLong cell = scores.computeIfAbsent(postId, id -> new AtomicLong(EMPTY));
+        double added = decayPerMilli * nowMillis + Math.log(weight);
+
+        long previous;
+        double next;
+        do {
+            previous = cell.get();
+            next = logSumExp(Double.longBitsToDouble(previous), added);
+        } while (!cell.compareAndSet(previous, Double.doubleToRawLongBits(next)));
+
+        if (next > admission) {
+            offer(postId);
+        }
+    }
+
+    /**
+     * Top limit posts (limit ≤ capacity), cao nhất trước
+     */
+    public List<Ranked> top(int limit) {
+        List<Ranked> current = top;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    /**
+     * Score thật tại thời điểm nowMillis (giảm dần nếu không có event mới)
+     */
+    public double scoreAt(Ranked ranked, long nowMillis) {
+        return Math.exp(ranked.logScore() - decayPerMilli * nowMillis);
+    }
+
+    /**
+     * Bỏ post khỏi bảng xếp hạng (post đã bị xoá)
+     */
+    public void remove(Long postId) {
+        scores.remove(postId);
+        topLock.lock();
+        try {
+            List<Ranked> next = new ArrayList<>(top);
+            if (next.removeIf(ranked -> ranked.postId().equals(postId))) {
+                publish(next);
+            }
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    /**
+     * Dọn post có score hiện tại < minScore (không còn khả năng vào top-K sớm)
+     *
+     * @return số post đã dọn
+     */
+    public int prune(double minScore, long nowMillis) {
+        double threshold = decayPerMilli * nowMillis + Math.log(minScore);
+        Set<Long> inTop = new HashSet<>();
+        top.forEach(ranked -> inTop.add(ranked.postId()));
+
+        int before = scores.size();
+        scores.entrySet().removeIf(entry -> !inTop.contains(entry.getKey())
+                && Double.longBitsToDouble(entry.getValue().get()) < threshold);
+        return before - scores.size();
+    }
+
+    /**
+     * limit posts có key cao nhất (snapshot sang Redis để node restart warm-up nhanh)
+     */
+    public List<Ranked> snapshot(int limit) {
+        return scores.entrySet().stream()
+                .map(entry -> new Ranked(entry.getKey(), Double.longBitsToDouble(entry.getValue().get())))
+                .sorted(HIGHEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Nạp lại snapshot: key đã tính sẵn decay → dùng trực tiếp, giữ key lớn hơn nếu post đã có event
+     */
+    public void restore(List<Ranked> entries) {
+        for (Ranked entry : entries) {
+            AtomicLong cell = scores.computeIfAbsent(entry.postId(), id -> new AtomicLong(EMPTY));
+            cell.accumulateAndGet(Double.doubleToRawLongBits(entry.logScore()),
+                    (current, restored) -> Double.longBitsToDouble(restored) > Double.longBitsToDouble(current)
+                            ? restored
+                            : current);
+        }
+
+        topLock.lock();
+        try {
+            publish(new ArrayList<>(snapshot(capacity)));
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    private void offer(Long postId) {
+        topLock.lock();
+        try {
+            // Đọc lại key mới nhất: event đồng thời của cùng post có thể đã ghi key lớn hơn
+            AtomicLong cell = scores.get(postId);
+            if (cell == null) {
+                return;
+            }
+            double latest = Double.longBitsToDouble(cell.get());
+            if (latest <= admission) {
+                return;
+            }
+
+            List<Ranked> next = new ArrayList<>(top.size() + 1);
+            for (Ranked ranked : top) {
+                if (!ranked.postId().equals(postId)) {
+                    next.add(ranked);
+                }
+            }
+            Ranked entry = new Ranked(postId, latest);
+            int index = Collections.binarySearch(next, entry, HIGHEST_FIRST);
+            next.add(index < 0 ? -index - 1 : index, entry);
+            publish(next);
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    // Gọi khi đang giữ topLock; next đã sắp xếp
+    private void publish(List<Ranked> next) {
+        if (next.size() > capacity) {
+            next.subList(capacity, next.size()).clear();
+        }
+        top = List.copyOf(next);
+        admission = next.size() == capacity ? next.get(capacity - 1).logScore() : Double.NEGATIVE_INFINITY;
+    }
+
+    private static double logSumExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+}
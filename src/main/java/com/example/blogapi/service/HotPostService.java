@@ -0,0 +1,180 @@
+package com.example.blogapi.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.blogapi.config.HotPostProperties;
+import com.example.blogapi.dto.response.HotPostResponse;
+import com.example.blogapi.dto.response.PostResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Hot right now": score giảm theo thời gian, cập nhật tăng dần trong memory (HotPostRanker)
+ *
+ * 🎯 TẠI SAO:
+ * - Trending (TrendingPostService) tính lại từ SQL aggregate theo lịch → trễ vài phút
+ * - Ở đây mỗi view / comment cộng thẳng vào score của post → top-K luôn mới, đọc O(K)
+ * không chạm DB (trừ posts cache MISS)
+ *
+ * 📚 LUỒNG DỮ LIỆU:
+ * 1. GET /posts/{id} → recordView(); createComment → CommentCreatedEvent → sau commit onCommentCreated()
+ * 2. snapshot(): định kỳ ghi top snapshot-size posts vào Redis ZSET (member = post ID, score = log-score)
+ * + dọn post đã nguội khỏi memory
+ * 3. Node khởi động → warmUp() nạp snapshot → không trả danh sách rỗng sau deploy
+ *
+ * ⚠️ Mỗi node có bảng xếp hạng riêng (chỉ thấy view/comment của chính nó); snapshot là
+ * "node ghi sau cùng thắng". Đổi half-life → snapshot cũ lệch scale tới khi hết snapshot-ttl
+ */
+@Service
+@Slf4j
+public class HotPostService {
+
+    static final String SNAPSHOT_KEY = "blogapi:hot-posts:snapshot";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PostService postService;
+    private final HotPostProperties properties;
+    private final HotPostRanker ranker;
+
+    // Key tạm riêng cho từng node → RENAME không đè lên snapshot đang ghi dở của node khác
+    private final String tempKey = SNAPSHOT_KEY + ":tmp:" + UUID.randomUUID();
+
+    public HotPostService(StringRedisTemplate stringRedisTemplate,
+            PostService postService,
+            HotPostProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.postService = postService;
+        this.properties = properties;
+        this.ranker = new HotPostRanker(properties.getHalfLife(), properties.getTopK());
+    }
+
+    /**
+     * Ghi nhận 1 lượt xem (gọi sau khi GET /posts/{id} thành công → không nhận ID không tồn tại)
+     */
+    public void recordView(Long postId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ranker.record(postId, properties.getViewWeight(), System.currentTimeMillis());
+    }
+
+    /**
+     * Chạy sau khi transaction tạo comment COMMIT (rollback → không cộng score)
+     */
+    @TransactionalEventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ranker.record(event.postId(), properties.getCommentWeight(), System.currentTimeMillis());
+    }
+
+    /**
+     * Top limit posts đang hot, score tính tại thời điểm đọc
+     *
+     * ⚠️ Không @Transactional: hydrate qua posts cache, miss → 1 SELECT cho cả danh sách
+     */
+    public List<HotPostResponse> getHotPosts(int limit) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+
+        List<HotPostRanker.Ranked> top = ranker.top(Math.clamp(limit, 0, properties.getTopK()));
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        List<PostResponse> posts = postService.getPostsByIds(top.stream().map(HotPostRanker.Ranked::postId).toList());
+
+        Map<Long, PostResponse> byId = posts.stream()
+                .collect(Collectors.toMap(PostResponse::getId, Function.identity()));
+
+        long now = System.currentTimeMillis();
+        List<HotPostResponse> result = new ArrayList<>(byId.size());
+        for (HotPostRanker.Ranked ranked : top) {
+            PostResponse post = byId.get(ranked.postId());
+            if (post == null) {
+                // Post đã bị xoá → bỏ khỏi bảng xếp hạng
+                ranker.remove(ranked.postId());
+                continue;
+            }
+            HotPostResponse response = new HotPostResponse();
+            response.setPostId(ranked.postId());
+            response.setTitle(post.getTitle());
+            response.setAuthorUsername(post.getAuthorUsername());
+            response.setScore(ranker.scoreAt(ranked, now));
+            result.add(response);
+        }
+        return result;
+    }
+
+    /**
+     * Dọn post đã nguội rồi ghi snapshot: ZADD vào key tạm → RENAME (reader không thấy ZSET ghi dở)
+     */
+    @Scheduled(fixedDelayString = "${app.hot-posts.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.hot-posts.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        int pruned = ranker.prune(properties.getMinScore(), System.currentTimeMillis());
+        List<HotPostRanker.Ranked> entries = ranker.snapshot(properties.getSnapshotSize());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Set<TypedTuple<String>> tuples = new HashSet<>(entries.size());
+        entries.forEach(entry -> tuples.add(TypedTuple.of(entry.postId().toString(), entry.logScore())));
+
+        try {
+            stringRedisTemplate.delete(tempKey);
+            stringRedisTemplate.opsForZSet().add(tempKey, tuples);
+            stringRedisTemplate.rename(tempKey, SNAPSHOT_KEY);
+            stringRedisTemplate.expire(SNAPSHOT_KEY, properties.getSnapshotTtl());
+            log.debug("Saved hot posts snapshot with {} posts ({} pruned)", entries.size(), pruned);
+        } catch (RuntimeException e) {
+            // Giữ snapshot cũ, lần sau thử lại
+            log.warn("⚠️ Hot posts snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Nạp snapshot khi node khởi động (Redis lỗi → bắt đầu với bảng xếp hạng rỗng)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .reverseRangeWithScores(SNAPSHOT_KEY, 0, properties.getSnapshotSize() - 1);
+            if (tuples == null || tuples.isEmpty()) {
+                return;
+            }
+            ranker.restore(tuples.stream()
+                    .map(tuple -> new HotPostRanker.Ranked(Long.valueOf(tuple.getValue()), tuple.getScore()))
+                    .toList());
+            log.info("Warmed up hot posts ranking with {} posts from snapshot", tuples.size());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Hot posts warm-up failed: {}. Starting with an empty ranking.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blogapi.service;
+
+import java.util.List;
+
+/**
+ * Phát ra khi nội dung 1 hoặc nhiều danh sách thay đổi, xử lý SAU COMMIT
+ * (ListGenerationService tăng generation → ETag của danh sách đổi)
+ *
+ * @param scopes ListGenerationService.POSTS / USERS / COMMENTS / commentsOf(postId)
+ */
+public record ListChangedEvent(List<String> scopes) {
+
+    public ListChangedEvent(String... scopes) {
+        this(List.of(scopes));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.blogapi.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generation counter cho danh sách (posts, users, comments của 1 post) → ETag cho list endpoints
+ *
+ * 🎯 TẠI SAO:
+ * - Client polling danh sách nhận lại toàn bộ trang dù không có gì thay đổi
+ * - Mỗi thay đổi → INCR generation trong Redis (sau commit); ETag = các generation liên quan
+ * - If-None-Match khớp → 304 ngay, KHÔNG query DB, KHÔNG map DTO, KHÔNG serialize
+ *
+ * 📚 THỨ TỰ AN TOÀN:
+ * - Controller đọc generation TRƯỚC khi query → ghi đồng thời làm ETag cũ hơn dữ liệu,
+ * lần sau client nhận full response (không bao giờ 304 cho dữ liệu cũ)
+ * - Tăng generation SAU commit → reader không thể thấy generation mới với dữ liệu cũ
+ *
+ * ⚠️ Key mất (Redis flush): INCR bắt đầu lại từ thời điểm hiện tại (epoch ms) thay vì 1
+ * → không lặp lại generation client đang giữ. Redis lỗi → không có ETag, trả full response
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ListGenerationService {
+
+    public static final String POSTS = "posts";
+    public static final String USERS = "users";
+    public static final String COMMENTS = "comments";
+
+    static final String KEY_PREFIX = "blogapi:list-generation:";
+
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            for _, key in ipairs(KEYS) do
+              if redis.call('INCR', key) == 1 then
+                redis.call('SET', key, ARGV[1])
+              end
+            end
+            return #KEYS
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * Comments của 1 post: comment mới trên post A không làm đổi ETag của post B
+     */
+    public static String commentsOf(Long postId) {
+        return COMMENTS + ":" + postId;
+    }
+
+    /**
+     * ETag (strong) ghép từ generation của các scope, null nếu Redis lỗi
+     */
+    public String etag(String... scopes) {
+        try {
+            List<String> generations = stringRedisTemplate.opsForValue()
+                    .multiGet(Arrays.stream(scopes).map(ListGenerationService::key).toList());
+            if (generations == null) {
+                return null;
+            }
+            return generations.stream()
+                    .map(generation -> generation != null ? generation : "0")
+                    .collect(Collectors.joining(".", "\"g", "\""));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ List generation READ failed for {}: {}", Arrays.toString(scopes), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * fallbackExecution: thao tác không có transaction (job xoá user theo batch) vẫn tăng generation
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListChanged(ListChangedEvent event) {
+        try {
+            stringRedisTemplate.execute(BUMP_SCRIPT,
+                    event.scopes().stream().map(ListGenerationService::key).toList(),
+                    Long.toString(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // Client đang giữ ETag cũ có thể nhận 304 cho tới lần thay đổi kế tiếp
+            log.warn("⚠️ List generation BUMP failed for {}: {}", event.scopes(), e.getMessage());
+        }
+    }
+
+    static String key(String scope) {
+        return KEY_PREFIX + scope;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.blogapi.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Phát ra từ PostService.createPost, xử lý SAU COMMIT (TimelineService fan-out)
+ *
+ * @param authorFollowerCount follower_count của author lúc tạo post (quyết định fan-out hay không)
+ */
+public record PostCreatedEvent(Long postId, Long authorId, long authorFollowerCount, LocalDateTime createdAt) {
+}
@@ -1,11 +1,19 @@
 package com.example.blogapi.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,8 +27,11 @@ import com.example.blogapi.entity.Post;
 import com.example.blogapi.entity.User;
 import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.PostMapper;
+import com.example.blogapi.repository.PostField;
 import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.PostSpecifications;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.ResourceSecurityService;
 import com.example.blogapi.util.SecurityUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -34,6 +45,9 @@ public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostMapper postMapper;
+    private final ResourceSecurityService resourceSecurityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     @Transactional
     @PreAuthorize("isAuthenticated()")
@@ -48,11 +62,18 @@ public class PostService {
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
 
-        author.addPost(post);
+        // Chỉ gắn author ở phía owning (posts.user_id), KHÔNG gọi author.addPost()
+        // để tránh initialize collection User.posts (lớn dần theo số bài của author)
+        post.setUser(author);
         Post savePosted = postRepository.save(post);
 
         log.info("Post created successfully with ID: {}", savePosted.getId());
 
+        // Fan-out vào timeline của followers chạy async sau commit (TimelineService)
+        eventPublisher.publishEvent(new PostCreatedEvent(savePosted.getId(), author.getId(),
+                author.getFollowerCount(), savePosted.getCreatedAt()));
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS));
+
         return postMapper.toPostResponse(savePosted);
     }
 
@@ -156,27 +177,105 @@ public class PostService {
         return postPage.map(postMapper::toPostResponse);
     }
 
+    // ============== SPARSE FIELDSETS (?fields= / ?view=summary) ==============
+
+    /**
+     * Các biến thể projection của list endpoints: chỉ SELECT cột trong fields
+     * (cùng điều kiện lọc với bản trả PostResponse)
+     *
+     * ⚠️ sortBy kiểm tra ở đây, trước repository: lỗi resolve path trong repository bị dịch
+     * thành InvalidDataAccessApiUsageException (500) thay vì IllegalArgumentException (400)
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllPostFields(List<PostField> fields, Pageable pageable) {
+        PostField.validateSort(pageable.getSort());
+        return postRepository.findFields(PostSpecifications.notDeleted(), fields, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchPostFields(String keyword, List<PostField> fields, Pageable pageable) {
+        PostField.validateSort(pageable.getSort());
+        return postRepository.findFields(PostSpecifications.search(keyword), fields, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getPostFieldsByUserId(Long userId, List<PostField> fields,
+            Pageable pageable) {
+        PostField.validateSort(pageable.getSort());
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Không tìm thấy user với ID: " + userId);
+        }
+        return postRepository.findFields(PostSpecifications.byUser(userId), fields, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getRecentPostFields(int days, List<PostField> fields, Pageable pageable) {
+        PostField.validateSort(pageable.getSort());
+        LocalDateTime fromDate = LocalDateTime.now().minusDays(days);
+        return postRepository.findFields(PostSpecifications.createdAfter(fromDate), fields, pageable);
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "posts", key = "#id")
     public PostResponse getPostById(Long id) {
         log.info("Fetching post with ID: {} (cache MISS - querying DB)", id);
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdWithUser(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + id));
 
         return postMapper.toPostResponse(post);
     }
 
+    /**
+     * Lấy nhiều post qua posts cache (cùng entry với getPostById), giữ thứ tự ids
+     *
+     * 📚 Dùng cho danh sách ID có sẵn (timeline, hot posts):
+     * - Cache HIT: không chạm DB
+     * - Các ID miss: 1 SELECT (fetch author) cho cả danh sách rồi ghi lại vào cache
+     * - Post đã bị xoá / không tồn tại không có trong kết quả
+     */
+    public List<PostResponse> getPostsByIds(List<Long> ids) {
+        Cache cache = cacheManager.getCache("posts");
+        Map<Long, PostResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long id : ids) {
+            PostResponse cached = cacheGet(cache, id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Loading {} posts missing from cache", misses.size());
+            for (Post post : postRepository.findAllByIdInWithUser(misses)) {
+                PostResponse response = postMapper.toPostResponse(post);
+                found.put(post.getId(), response);
+                cachePut(cache, post.getId(), response);
+            }
+        }
+
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Transactional
     @PreAuthorize("@resourceSecurityService.isPostAuthor(#id)")
     @CacheEvict(value = "posts", allEntries = true)
     public PostResponse updatePost(Long id, PostUpdateRequest request) {
         log.info("Updating post with ID: {} - evicting posts cache", id);
-        Post existingPost = postRepository.findById(id)
+        // Fetch luôn author → map authorUsername không tốn thêm SELECT user
+        Post existingPost = postRepository.findByIdWithUser(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + id));
         existingPost.setTitle(request.getTitle());
         existingPost.setContent(request.getContent());
 
-        Post updatedPost = postRepository.save(existingPost);
+        // Flush ngay: auditing ghi updatedAt lúc flush → response (ETag/Last-Modified) khớp với DB
+        Post updatedPost = postRepository.saveAndFlush(existingPost);
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS));
 
         return postMapper.toPostResponse(updatedPost);
     }
@@ -186,36 +285,50 @@ public class PostService {
      */
     @Transactional
     @PreAuthorize("@resourceSecurityService.isPostAuthor(#id)")
-    @CacheEvict(value = "posts", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "posts", allEntries = true),
+            @CacheEvict(value = "trendingPosts", allEntries = true)
+    })
     public void deletePost(Long id) {
         log.warn("Soft deleting post with ID: {} - evicting posts cache", id);
 
-        Post post = postRepository.findById(id)
+        // Ownership projection đã được @PreAuthorize memoize trong request → không SELECT lại
+        resourceSecurityService.findPostOwner(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + id));
 
         String currentUsername = SecurityUtils.getCurrentUsername();
-        post.softDelete(currentUsername);
-        postRepository.save(post);
+        if (postRepository.softDeleteById(id, currentUsername, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Không tìm thấy post với ID: " + id);
+        }
 
         log.info("Post with ID: {} soft deleted by user: {}", id, currentUsername);
-
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS));
     }
 
     /**
      * HARD DELETE - Xóa vĩnh viễn (chỉ dành cho admin)
+     *
+     * 1 câu DELETE, comments bị xoá bởi ON DELETE CASCADE của DB
      */
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    @CacheEvict(value = "posts", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "posts", key = "#id"),
+            @CacheEvict(value = "comments", allEntries = true),
+            @CacheEvict(value = "trendingPosts", allEntries = true)
+    })
     public void hardDeletePost(Long id) {
         log.error("⚠️ HARD DELETING post with ID: {} - This action is IRREVERSIBLE!", id);
 
-        // Lấy cả post đã bị soft delete
-        Post post = postRepository.findByIdIncludingDeleted(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy post với ID: " + id));
+        // Xoá cả post đã bị soft delete
+        int deleted = postRepository.hardDeleteById(id);
+        if (deleted == 0) {
+            throw new ResourceNotFoundException("Không tìm thấy post với ID: " + id);
+        }
 
-        postRepository.delete(post); // Xóa vĩnh viễn
         log.info("Post with ID: {} permanently deleted", id);
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS,
+                ListGenerationService.commentsOf(id)));
     }
 
     /**
@@ -238,6 +351,7 @@ public class PostService {
         Post restoredPost = postRepository.save(post);
 
         log.info("Post with ID: {} restored successfully", id);
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.POSTS));
 
         return postMapper.toPostResponse(restoredPost);
     }
@@ -254,4 +368,27 @@ public class PostService {
         return deletedPosts.map(postMapper::toPostResponse);
     }
 
+    private PostResponse cacheGet(Cache cache, Long postId) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(postId, PostResponse.class);
+        } catch (RuntimeException e) {
+            // Graceful degradation giống CustomCacheErrorHandler: coi như cache MISS
+            log.warn("⚠️ Cache GET failed - cache: 'posts', key: '{}', error: {}.", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void cachePut(Cache cache, Long postId, PostResponse response) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(postId, response);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Cache PUT failed - cache: 'posts', key: '{}', error: {}.", postId, e.getMessage());
+        }
+    }
 }
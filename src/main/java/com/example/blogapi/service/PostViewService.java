@@ -0,0 +1,26 @@
+package com.example.blogapi.service;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ghi nhận 1 lượt xem chi tiết post cho mọi bộ đếm (trending, hot, unique viewers)
+ *
+ * 📚 Gọi từ PostController.getPostById và từ ResponseCacheFilter khi trả response
+ * đã cache → lượt xem được đếm như nhau dù request có tới controller hay không
+ */
+@Service
+@RequiredArgsConstructor
+public class PostViewService {
+
+    private final TrendingPostService trendingPostService;
+    private final HotPostService hotPostService;
+    private final UniqueViewerService uniqueViewerService;
+
+    public void recordView(Long postId, String clientIp, String userAgent) {
+        trendingPostService.recordView(postId);
+        hotPostService.recordView(postId);
+        uniqueViewerService.recordView(postId, clientIp, userAgent);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.blogapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blogapi.config.JwtProperties;
+import com.example.blogapi.entity.RefreshToken;
+import com.example.blogapi.entity.User;
+import com.example.blogapi.repository.RefreshTokenRepository;
+import com.example.blogapi.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cấp, xoay vòng và thu hồi refresh token
+ *
+ * 🎯 TẠI SAO:
+ * - Access token ngắn hạn → client refresh thay vì login lại (BCrypt đắt)
+ * - Refresh chỉ tốn 1 SHA-256 + 1 SELECT (fetch user) + 1 UPDATE + 1 INSERT
+ *
+ * 📚 BẢO MẬT:
+ * - DB chỉ lưu SHA-256 hash: lộ DB không dùng được token
+ * - Rotation: mỗi refresh token chỉ dùng được 1 lần
+ * - Dùng lại token đã revoke → revoke cả family (token bị đánh cắp)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String INVALID_TOKEN_MESSAGE = "Refresh token không hợp lệ hoặc đã hết hạn";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Kết quả rotation: refresh token mới (raw) + user để cấp access token
+     */
+    public record Rotation(String refreshToken, User user) {
+    }
+
+    /**
+     * Cấp refresh token cho 1 lần login (family mới)
+     *
+     * @return raw token (chỉ trả về client, không lưu)
+     */
+    @Transactional
+    public String issue(Long userId) {
+        // getReferenceById: chỉ cần FK, không SELECT user
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Đổi refresh token cũ lấy token mới cùng family
+     *
+     * ⚠️ noRollbackFor: revoke family khi phát hiện reuse phải được commit
+     * dù request kết thúc bằng 401
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException(INVALID_TOKEN_MESSAGE));
+
+        if (current.isRevoked() || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            log.warn("⚠️ Refresh token reuse detected for user: {} - revoking token family",
+                    current.getUser().getUsername());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new BadCredentialsException(INVALID_TOKEN_MESSAGE);
+        }
+
+        // Account đang bị xoá async: không cấp access token mới
+        if (current.isExpired(now) || current.getUser().isDeleting()) {
+            throw new BadCredentialsException(INVALID_TOKEN_MESSAGE);
+        }
+
+        String next = issue(current.getUser(), current.getFamilyId());
+        log.debug("Refresh token rotated for user: {}", current.getUser().getUsername());
+        return new Rotation(next, current.getUser());
+    }
+
+    /**
+     * Logout: revoke cả family của token (token lạ/không tồn tại thì bỏ qua)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoke mọi refresh token của user (xoá account)
+     */
+    @Transactional
+    public void revokeAllOf(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllOfUser(userId, LocalDateTime.now());
+        log.info("Revoked {} refresh tokens of user ID {}", revoked, userId);
+    }
+
+    /**
+     * Dọn refresh token đã hết hạn
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusNanos(jwtProperties.getRefreshExpiration() * 1_000_000));
+        refreshTokenRepository.save(token);
+
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 luôn có sẵn trên mọi JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
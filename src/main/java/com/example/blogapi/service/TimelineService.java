@@ -0,0 +1,283 @@
+package com.example.blogapi.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.blogapi.config.TimelineProperties;
+import com.example.blogapi.dto.response.PostResponse;
+import com.example.blogapi.dto.response.TimelineResponse;
+import com.example.blogapi.repository.FollowRepository;
+import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.TimelineEntry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Home timeline: fan-out-on-write vào Redis ZSET, celebrity là fan-out-on-read
+ *
+ * 🎯 TẠI SAO:
+ * - Đọc timeline bằng posts WHERE user_id IN (followees) ORDER BY created_at mỗi request
+ * không scale theo số followees / số request
+ * - Mỗi user có 1 ZSET blogapi:timeline:{userId} (member = post ID, score = createdAt epoch ms),
+ * giữ tối đa app.timeline.max-size post mới nhất
+ *
+ * 📚 LUỒNG DỮ LIỆU:
+ * 1. createPost → PostCreatedEvent → sau commit: fan-out trên timelineFanOutExecutor,
+ * follower IDs duyệt theo keyset, mỗi batch là 1 Lua script (ZADD + cắt về max-size)
+ * 2. Author có follower_count >= celebrity-threshold: chỉ ghi timeline của chính author,
+ * followers đọc post của họ lúc đọc (1 query trên idx_posts_user_created_at)
+ * 3. getTimeline: ZREVRANGEBYSCORE + post của celebrity → merge theo createdAt
+ * → hydrate qua posts cache (PostService.getPostsByIds, miss → 1 SELECT cho cả trang)
+ *
+ * ⚡ Fan-out CHỈ ghi vào timeline đã tồn tại: user không hoạt động (timeline hết TTL) không tốn
+ * bộ nhớ Redis; lần đọc kế tiếp rebuild từ DB (1 query, không phải mỗi request)
+ *
+ * ⚠️ Redis lỗi → đọc thẳng DB (query rebuild có cursor), fan-out bị bỏ qua (timeline thiếu post
+ * tới khi được rebuild). Lua script nhiều key: Redis Cluster cần hash tag cho key timeline
+ */
+@Service
+@Slf4j
+public class TimelineService {
+
+    static final String KEY_PREFIX = "blogapi:timeline:";
+
+    // Member giữ chỗ (score 0): user không follow ai vẫn có key → không rebuild mỗi request
+    static final String PLACEHOLDER = "0";
+
+    // Không có cursor → mọi post (PostgreSQL không so sánh được LocalDateTime.MAX)
+    private static final LocalDateTime NO_CURSOR = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final RedisScript<Long> FAN_OUT_SCRIPT = new DefaultRedisScript<>("""
+            local pushed = 0
+            for _, key in ipairs(KEYS) do
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('ZADD', key, ARGV[1], ARGV[2])
+                redis.call('ZREMRANGEBYRANK', key, 0, -(tonumber(ARGV[3]) + 1))
+                pushed = pushed + 1
+              end
+            end
+            return pushed
+            """, Long.class);
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntry::createdAt)
+            .thenComparing(TimelineEntry::postId)
+            .reversed();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final TimelineProperties properties;
+    private final TaskExecutor taskExecutor;
+
+    public TimelineService(StringRedisTemplate stringRedisTemplate,
+            FollowRepository followRepository,
+            PostRepository postRepository,
+            PostService postService,
+            TimelineProperties properties,
+            @Qualifier("timelineFanOutExecutor") TaskExecutor taskExecutor) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // ========== WRITE: fan-out ==========
+
+    /**
+     * Chạy sau khi transaction tạo post COMMIT (rollback → không có post "ma" trong timeline)
+     */
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        try {
+            taskExecutor.execute(() -> fanOut(event));
+        } catch (TaskRejectedException e) {
+            log.warn("⚠️ Timeline fan-out queue full, skipping post ID {} (timelines catch up on rebuild)",
+                    event.postId());
+        }
+    }
+
+    void fanOut(PostCreatedEvent event) {
+        String score = Long.toString(toScore(event.createdAt()));
+        String member = event.postId().toString();
+        String maxSize = Integer.toString(properties.getMaxSize());
+
+        try {
+            // Timeline của chính author (kể cả celebrity)
+            stringRedisTemplate.execute(FAN_OUT_SCRIPT, List.of(key(event.authorId())), score, member, maxSize);
+
+            if (event.authorFollowerCount() >= properties.getCelebrityThreshold()) {
+                log.debug("Author ID {} has {} followers - post ID {} served by fan-out-on-read",
+                        event.authorId(), event.authorFollowerCount(), event.postId());
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            long followers = 0;
+            long pushed = 0;
+            long afterId = 0;
+            List<Long> batch;
+            do {
+                batch = followRepository.findFollowerIdBatch(event.authorId(), afterId,
+                        properties.getFanOutBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Long result = stringRedisTemplate.execute(FAN_OUT_SCRIPT,
+                        batch.stream().map(TimelineService::key).toList(), score, member, maxSize);
+                followers += batch.size();
+                pushed += result != null ? result : 0;
+                afterId = batch.get(batch.size() - 1);
+            } while (batch.size() == properties.getFanOutBatchSize());
+
+            log.debug("Fanned out post ID {} to {}/{} active timelines in {} ms",
+                    event.postId(), pushed, followers, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Timeline fan-out failed for post ID {}: {}", event.postId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Follow graph thay đổi → xoá timeline sau commit, lần đọc kế tiếp rebuild từ DB
+     */
+    public void evictTimeline(Long userId) {
+        Runnable evict = () -> {
+            try {
+                stringRedisTemplate.delete(key(userId));
+            } catch (RuntimeException e) {
+                // Timeline cũ sống tới hết TTL
+                log.warn("⚠️ Timeline EVICT failed for user ID {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    // ========== READ ==========
+
+    /**
+     * 1 trang home timeline
+     *
+     * ⚠️ Không @Transactional: không giữ DB connection trong lúc gọi Redis
+     *
+     * @param before cursor (epoch ms, exclusive) từ nextCursor của trang trước, null = trang đầu
+     */
+    public TimelineResponse getTimeline(Long userId, Long before, int size) {
+        int limit = Math.clamp(size, 1, properties.getMaxPageSize());
+        LocalDateTime beforeTime = before != null ? fromScore(before) : NO_CURSOR;
+
+        List<TimelineEntry> entries = new ArrayList<>(readMaterialized(userId, before, beforeTime, limit));
+
+        List<Long> celebrities = followRepository.findCelebrityFolloweeIds(userId,
+                properties.getCelebrityThreshold());
+        if (!celebrities.isEmpty()) {
+            entries.addAll(postRepository.findTimelineEntriesByAuthors(celebrities, beforeTime,
+                    PageRequest.of(0, limit)));
+        }
+
+        // Author vừa vượt ngưỡng celebrity: post cũ có thể nằm ở cả 2 nguồn
+        Map<Long, TimelineEntry> page = new LinkedHashMap<>();
+        entries.stream().sorted(NEWEST_FIRST).forEach(entry -> page.putIfAbsent(entry.postId(), entry));
+        List<TimelineEntry> selected = page.values().stream().limit(limit).toList();
+
+        Long nextCursor = selected.size() == limit ? toScore(selected.get(limit - 1).createdAt()) : null;
+        List<PostResponse> posts = postService.getPostsByIds(selected.stream().map(TimelineEntry::postId).toList());
+        return new TimelineResponse(posts, nextCursor);
+    }
+
+    private List<TimelineEntry> readMaterialized(Long userId, Long before, LocalDateTime beforeTime, int limit) {
+        String key = key(userId);
+        try {
+            // EXPIRE vừa gia hạn TTL vừa cho biết timeline đã có chưa (1 round-trip)
+            if (!Boolean.TRUE.equals(stringRedisTemplate.expire(key, properties.getTtl()))) {
+                rebuild(userId, key);
+            }
+
+            // min = 1: bỏ qua PLACEHOLDER (score 0)
+            double max = before != null ? before - 1 : Double.POSITIVE_INFINITY;
+            Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(key, 1, max, 0, limit);
+            if (tuples == null) {
+                return List.of();
+            }
+            return tuples.stream()
+                    .map(tuple -> new TimelineEntry(Long.valueOf(tuple.getValue()),
+                            fromScore(tuple.getScore().longValue())))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Timeline READ failed for user ID {}: {}. Falling back to database.",
+                    userId, e.getMessage());
+            return postRepository.findTimelineEntries(userId, properties.getCelebrityThreshold(), beforeTime,
+                    PageRequest.of(0, limit));
+        }
+    }
+
+    /**
+     * ⚠️ Tạo key (PLACEHOLDER) TRƯỚC khi query: fan-out chỉ ghi vào key đã tồn tại → post được
+     * fan-out trong lúc query vẫn vào timeline, ZADD bên dưới chỉ merge thêm (member trùng giữ nguyên).
+     * Reader đồng thời có thể thấy timeline rỗng trong khoảng ngắn đó
+     */
+    private void rebuild(Long userId, String key) {
+        stringRedisTemplate.opsForZSet().add(key, PLACEHOLDER, 0);
+        stringRedisTemplate.expire(key, properties.getTtl());
+
+        List<TimelineEntry> entries = postRepository.findTimelineEntries(userId,
+                properties.getCelebrityThreshold(), NO_CURSOR, PageRequest.of(0, properties.getMaxSize()));
+        if (!entries.isEmpty()) {
+            Set<TypedTuple<String>> tuples = new HashSet<>(entries.size());
+            for (TimelineEntry entry : entries) {
+                tuples.add(TypedTuple.of(entry.postId().toString(), (double) toScore(entry.createdAt())));
+            }
+            stringRedisTemplate.opsForZSet().add(key, tuples);
+            // Post fan-out đồng thời + kết quả query có thể vượt max-size (giống FAN_OUT_SCRIPT)
+            stringRedisTemplate.opsForZSet().removeRange(key, 0, -(properties.getMaxSize() + 1L));
+        }
+
+        log.debug("Rebuilt timeline for user ID {} with {} posts", userId, entries.size());
+    }
+
+    static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static long toScore(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromScore(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
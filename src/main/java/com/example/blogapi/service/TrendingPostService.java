@@ -0,0 +1,155 @@
+package com.example.blogapi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.blogapi.dto.response.TrendingPostResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trending posts dựa trên materialized view trending_posts (PostgreSQL)
+ *
+ * 🎯 TẠI SAO:
+ * - Aggregate comments + views trên toàn bộ posts cho MỖI request là quá đắt
+ * - Materialized view được REFRESH CONCURRENTLY theo lịch → reader không bị block
+ * - Request chỉ đọc 1 entry cache (top N), cache miss chỉ là 1 SELECT ... LIMIT
+ *
+ * 📚 LUỒNG DỮ LIỆU:
+ * 1. recordView(): đếm lượt xem trong memory (LongAdder, không chạm DB)
+ * 2. flushViews(): upsert các counter vào post_view_buckets (bucket theo giờ)
+ * 3. refreshTrending(): flush → REFRESH MATERIALIZED VIEW CONCURRENTLY → evict cache
+ *
+ * ⚠️ Chỉ chạy khi app.trending.enabled=true (H2 không hỗ trợ materialized view)
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TrendingPostService {
+
+    static final String CACHE_KEY = "top";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    @Value("${app.trending.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.trending.size:50}")
+    private int size;
+
+    /**
+     * Top N trending posts (1 entry duy nhất trong cache "trendingPosts")
+     * Controller tự cắt theo limit → mọi limit dùng chung 1 entry
+     */
+    @Cacheable(value = "trendingPosts", key = "T(com.example.blogapi.service.TrendingPostService).CACHE_KEY")
+    public List<TrendingPostResponse> getTrendingPosts() {
+        if (!enabled) {
+            return List.of();
+        }
+
+        log.info("Fetching top {} trending posts (cache MISS - querying materialized view)", size);
+
+        return jdbcTemplate.query("""
+                SELECT t.post_id, p.title, u.username, t.comment_count, t.view_count, t.score
+                FROM trending_posts t
+                JOIN posts p ON p.id = t.post_id
+                JOIN users u ON u.id = p.user_id
+                WHERE p.deleted_at IS NULL
+                ORDER BY t.score DESC, t.post_id DESC
+                LIMIT ?
+                """, (rs, rowNum) -> {
+            TrendingPostResponse response = new TrendingPostResponse();
+            response.setPostId(rs.getLong("post_id"));
+            response.setTitle(rs.getString("title"));
+            response.setAuthorUsername(rs.getString("username"));
+            response.setCommentCount(rs.getLong("comment_count"));
+            response.setViewCount(rs.getLong("view_count"));
+            response.setScore(rs.getLong("score"));
+            return response;
+        }, size);
+    }
+
+    /**
+     * Ghi nhận 1 lượt xem (gọi trên mọi GET /posts/{id}, kể cả cache HIT)
+     */
+    public void recordView(Long postId) {
+        if (!enabled) {
+            return;
+        }
+        pendingViews.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Upsert lượt xem đang gom trong memory vào bucket giờ hiện tại
+     */
+    @Scheduled(fixedDelayString = "${app.trending.view-flush-interval-ms:60000}")
+    public void flushViews() {
+        if (!enabled || pendingViews.isEmpty()) {
+            return;
+        }
+
+        Timestamp bucketStart = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : pendingViews.keySet()) {
+            // Lượt xem đến sau remove() sẽ vào adder mới; chỉ vài lượt rơi đúng khe
+            // giữa remove() và sum() có thể bị mất → chấp nhận được với số liệu trending
+            LongAdder adder = pendingViews.remove(postId);
+            long views = adder != null ? adder.sum() : 0;
+            if (views > 0) {
+                batch.add(new Object[] { postId, bucketStart, views, postId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Post có thể đã bị hard delete trong lúc gom → bỏ qua thay vì vi phạm FK
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO post_view_buckets (post_id, bucket_start, views)
+                SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?)
+                ON CONFLICT (post_id, bucket_start)
+                DO UPDATE SET views = post_view_buckets.views + EXCLUDED.views
+                """, batch);
+
+        log.debug("Flushed view counters for {} posts", batch.size());
+    }
+
+    /**
+     * Refresh materialized view mà không block reader
+     */
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval-ms:300000}",
+            initialDelayString = "${app.trending.refresh-interval-ms:300000}")
+    public void refreshTrending() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            flushViews();
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY trending_posts");
+            cacheInvalidationService.evictTrendingPosts();
+            log.info("Refreshed trending_posts in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // Giữ snapshot cũ, lần refresh sau sẽ thử lại
+            log.error("❌ Failed to refresh trending_posts: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.blogapi.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.blogapi.exception.ServiceOverloadedException;
+import com.example.blogapi.repository.CommentRepository;
+import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.UserRepository;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Job xoá account lớn theo từng batch (async)
+ *
+ * 🎯 TẠI SAO:
+ * - 1 câu DELETE users + ON DELETE CASCADE cho account có hàng trăm nghìn
+ * rows sẽ giữ lock và transaction rất lâu
+ * - Job chia nhỏ: mỗi batch là 1 transaction ngắn, có progress để theo dõi
+ *
+ * 📚 THỨ TỰ XOÁ:
+ * 1. Comments do user viết
+ * 2. Comments nằm trên posts của user
+ * 3. Posts của user (evict posts cache theo từng batch ID)
+ * 4. User row (+ trừ follower_count của những người user đang follow)
+ *
+ * ⚠️ Mỗi user chỉ có 1 job PENDING/RUNNING: DELETE lặp lại trả về job đang chạy
+ */
+@Service
+@Slf4j
+public class UserDeletionJobService {
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    private final Map<String, UserDeletionJob> jobs = new ConcurrentHashMap<>();
+    // userId → job chưa kết thúc
+    private final Map<Long, UserDeletionJob> activeJobs = new ConcurrentHashMap<>();
+
+    @Value("${app.user-deletion.batch-size:500}")
+    private int batchSize;
+
+    public UserDeletionJobService(UserRepository userRepository,
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            CacheInvalidationService cacheInvalidationService,
+            @Qualifier("backgroundTaskExecutor") TaskExecutor taskExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Tạo job và chạy trên backgroundTaskExecutor
+     *
+     * @param userId         ID của user cần xoá
+     * @param totalComments  tổng comments sẽ bị xoá (để tính progress)
+     * @param totalPosts     tổng posts sẽ bị xoá (để tính progress)
+     * @return trạng thái ban đầu của job (hoặc job đang chạy cho cùng user)
+     * @throws ServiceOverloadedException nếu queue của backgroundTaskExecutor đã đầy
+     */
+    public UserDeletionJob submit(Long userId, long totalComments, long totalPosts) {
+        UserDeletionJob job = new UserDeletionJob(UUID.randomUUID().toString(), userId, totalComments, totalPosts);
+        UserDeletionJob existing = activeJobs.putIfAbsent(userId, job);
+        if (existing != null) {
+            log.info("Deletion job {} already in progress for user ID {}", existing.getJobId(), userId);
+            return existing;
+        }
+        jobs.put(job.getJobId(), job);
+
+        log.warn("Submitting async deletion job {} for user ID {} ({} posts, {} comments)",
+                job.getJobId(), userId, totalPosts, totalComments);
+
+        try {
+            taskExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            // Không để lại job PENDING mà không ai chạy
+            jobs.remove(job.getJobId());
+            activeJobs.remove(userId, job);
+            throw new ServiceOverloadedException("Hàng đợi xoá account đang đầy, vui lòng thử lại sau.",
+                    RETRY_AFTER_SECONDS);
+        }
+        return job;
+    }
+
+    public Optional<UserDeletionJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Job PENDING/RUNNING của user (nếu có)
+     */
+    public Optional<UserDeletionJob> findActiveJob(Long userId) {
+        return Optional.ofNullable(activeJobs.get(userId));
+    }
+
+    private void run(UserDeletionJob job) {
+        job.markRunning();
+        Long userId = job.getUserId();
+
+        try {
+            String username = userRepository.findUsernameById(userId).orElse(null);
+
+            int deleted;
+            do {
+                deleted = inTransaction(() -> commentRepository.deleteBatchByAuthorId(userId, batchSize));
+                job.addCommentsDeleted(deleted);
+            } while (deleted > 0);
+
+            do {
+                deleted = inTransaction(() -> commentRepository.deleteBatchOnPostsOfUser(userId, batchSize));
+                job.addCommentsDeleted(deleted);
+            } while (deleted > 0);
+            cacheInvalidationService.evictAllComments();
+
+            List<Long> postIds;
+            do {
+                postIds = transactionTemplate.execute(status -> {
+                    List<Long> ids = postRepository.findIdBatchByUserId(userId, batchSize);
+                    if (!ids.isEmpty()) {
+                        postRepository.deleteAllByIdIn(ids);
+                    }
+                    return ids;
+                });
+                job.addPostsDeleted(postIds.size());
+                cacheInvalidationService.evictPosts(postIds);
+            } while (!postIds.isEmpty());
+
+            // follows của user bị CASCADE xoá → trừ follower_count của followees trong cùng transaction
+            inTransaction(() -> {
+                userRepository.decrementFollowerCountsOfFollowees(userId);
+                return userRepository.deleteUserById(userId);
+            });
+            cacheInvalidationService.evictUser(userId);
+            if (username != null) {
+                cacheInvalidationService.evictPrincipal(userId, username);
+            }
+
+            job.markCompleted();
+            log.info("✅ Deletion job {} completed: user ID {} - {} posts, {} comments deleted",
+                    job.getJobId(), userId, job.getPostsDeleted(), job.getCommentsDeleted());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.error("❌ Deletion job {} failed for user ID {}: {}", job.getJobId(), userId, e.getMessage(), e);
+        } finally {
+            activeJobs.remove(userId, job);
+        }
+    }
+
+    /**
+     * Dọn các job đã kết thúc quá 24h để registry không phình ra
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void pruneFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(24);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+    }
+
+    private int inTransaction(IntSupplier action) {
+        Integer result = transactionTemplate.execute(status -> action.getAsInt());
+        return result != null ? result : 0;
+    }
+
+    /**
+     * Trạng thái job (đọc từ API admin trong khi job đang chạy)
+     */
+    @Getter
+    public static class UserDeletionJob {
+        public enum Status {
+            PENDING, RUNNING, COMPLETED, FAILED
+        }
+
+        private final String jobId;
+        private final Long userId;
+        private final long totalComments;
+        private final long totalPosts;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile Status status = Status.PENDING;
+        private volatile long commentsDeleted;
+        private volatile long postsDeleted;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        UserDeletionJob(String jobId, Long userId, long totalComments, long totalPosts) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.totalComments = totalComments;
+            this.totalPosts = totalPosts;
+        }
+
+        /**
+         * Phần trăm hoàn thành (0-100)
+         */
+        public int getProgressPercent() {
+            if (status == Status.COMPLETED) {
+                return 100;
+            }
+            long total = totalComments + totalPosts;
+            if (total == 0) {
+                return 0;
+            }
+            return (int) Math.min(99, (commentsDeleted + postsDeleted) * 100 / total);
+        }
+
+        // Chỉ job thread ghi các field dưới đây → volatile là đủ
+        void markRunning() {
+            this.status = Status.RUNNING;
+        }
+
+        void addCommentsDeleted(long count) {
+            this.commentsDeleted += count;
+        }
+
+        void addPostsDeleted(long count) {
+            this.postsDeleted += count;
+        }
+
+        void markCompleted() {
+            this.status = Status.COMPLETED;
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        void markFailed(String error) {
+            this.status = Status.FAILED;
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.blogapi.service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,7 +19,10 @@ import com.example.blogapi.dto.response.UserResponse;
 import com.example.blogapi.entity.User;
 import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.UserMapper;
+import com.example.blogapi.repository.CommentRepository;
+import com.example.blogapi.repository.PostRepository;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.service.UserDeletionJobService.UserDeletionJob;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +34,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserDeletionJobService userDeletionJobService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.user-deletion.async-threshold:5000}")
+    private long asyncDeletionThreshold;
 
     @Transactional
     @CacheEvict(value = "users", allEntries = true)
@@ -45,6 +60,7 @@ public class UserService {
         User savedUser = userRepository.save(user);
 
         log.info("User created successfully with ID: {}", savedUser.getId());
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.USERS));
         return userMapper.toUserResponse(savedUser);
     }
 
@@ -118,17 +134,84 @@ public class UserService {
         return userPage.map(userMapper::toUserResponse);
     }
 
+    /**
+     * Xoá user theo kiểu set-based
+     *
+     * 🎯 CƠ CHẾ:
+     * - Account nhỏ: 1 câu DELETE users, posts/comments bị xoá bởi ON DELETE CASCADE
+     * (không load từng entity con như CascadeType.ALL + orphanRemoval)
+     * - Account lớn (posts + comments > threshold): giao cho job async xoá theo batch
+     * (đã có job cho user → trả về job đó)
+     *
+     * @return job nếu xoá async, Optional.empty() nếu đã xoá xong
+     */
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
-    public void deleteUser(Long id) {
-        log.warn("Deleting user with ID: {} - evicting users cache", id);
+    public Optional<UserDeletionJob> deleteUser(Long id) {
+        log.warn("Deleting user with ID: {}", id);
+
+        String username = userRepository.findUsernameById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy user với ID: " + id));
+
+        // DELETE lặp lại khi job đang chạy → trả job đó, không xoá song song
+        Optional<UserDeletionJob> activeJob = userDeletionJobService.findActiveJob(id);
+        if (activeJob.isPresent()) {
+            return activeJob;
+        }
+
+        long totalPosts = postRepository.countAllByUserId(id);
+        long totalComments = commentRepository.countDeletedWithUser(id);
+
+        if (totalPosts + totalComments > asyncDeletionThreshold) {
+            log.warn("User ID {} owns {} posts and {} comments - deleting asynchronously",
+                    id, totalPosts, totalComments);
+            // Thu hồi token ngay, không đợi job chạy xong (nhiều phút): user không tạo thêm
+            // posts/comments để rồi bị cascade xoá âm thầm. Submit bị từ chối → rollback, không thu hồi
+            // - deleting: principal disabled → login và access token (DB mode) bị từ chối
+            // - refresh token: không đổi được access token mới sau thời điểm revoke
+            // - evictPrincipal (sau commit): bỏ principal cache + revoke access token (stateless mode)
+            userRepository.markDeleting(id);
+            refreshTokenService.revokeAllOf(id);
+            cacheInvalidationService.evictPrincipal(id, username);
+            return Optional.of(userDeletionJobService.submit(id, totalComments, totalPosts));
+        }
 
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Không tìm thấy user với ID: " + id);
+        // Lấy post IDs trước khi xoá để evict đúng các entry trong posts cache
+        List<Long> postIds = postRepository.findIdsByUserId(id);
+        // follows của user bị CASCADE xoá → trừ follower_count của followees trước
+        userRepository.decrementFollowerCountsOfFollowees(id);
+        userRepository.deleteUserById(id);
+
+        cacheInvalidationService.evictUser(id);
+        cacheInvalidationService.evictPrincipal(id, username);
+        cacheInvalidationService.evictPosts(postIds);
+        if (totalComments > 0) {
+            cacheInvalidationService.evictAllComments();
         }
 
-        userRepository.deleteById(id);
-        log.info("User with ID: {} deleted successfully", id);
+        log.info("User with ID: {} deleted successfully ({} posts, {} comments cascaded)",
+                id, totalPosts, totalComments);
+        return Optional.empty();
     }
 
+    /**
+     * Đổi role của user (ADMIN)
+     *
+     * ⚠️ JWT filter cache UserDetails (kèm authorities) → phải invalidate principal
+     * cache trên mọi node, nếu không role cũ còn hiệu lực tới khi hết TTL
+     */
+    @Transactional
+    @CacheEvict(value = "users", key = "#id")
+    public UserResponse changeUserRole(Long id, String role) {
+        log.warn("Changing role of user ID {} to {}", id, role);
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy người dùng với ID: " + id));
+
+        user.setRole(role);
+        User updatedUser = userRepository.save(user);
+        cacheInvalidationService.evictPrincipal(id, updatedUser.getUsername());
+        eventPublisher.publishEvent(new ListChangedEvent(ListGenerationService.USERS));
+
+        return userMapper.toUserResponse(updatedUser);
+    }
 }
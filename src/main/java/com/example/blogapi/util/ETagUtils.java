@@ -0,0 +1,47 @@
+package com.example.blogapi.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * Utility class cho conditional GET (ETag / Last-Modified)
+ *
+ * 📚 CÁCH DÙNG TRONG CONTROLLER:
+ * - webRequest.checkNotModified(etag, lastModified) → true: Spring đã set 304, return null
+ * (không map DTO, không serialize body)
+ * - false: Spring đã set header ETag / Last-Modified, trả response như bình thường với
+ * Cache-Control REVALIDATE
+ */
+public final class ETagUtils {
+
+    /**
+     * Client được lưu response nhưng phải hỏi lại server mỗi lần (If-None-Match)
+     *
+     * ⚠️ Không set → Spring Security ghi "no-store": browser không giữ response để revalidate
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETagUtils() {
+    }
+
+    /**
+     * Strong ETag từ các thành phần quyết định nội dung, vd: of("p", id, updatedAt)
+     */
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(part -> part instanceof LocalDateTime time ? Long.toString(epochMillis(time))
+                        : String.valueOf(part))
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Epoch ms cho Last-Modified, -1 (bỏ qua Last-Modified) nếu null
+     */
+    public static long epochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
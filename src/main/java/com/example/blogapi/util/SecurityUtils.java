@@ -4,6 +4,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import com.example.blogapi.security.UserPrincipal;
+
 /**
  * Utility class cho Security operations
  */
@@ -26,6 +28,20 @@ public class SecurityUtils {
         return authentication.getName();
     }
 
+    /**
+     * Lấy user ID của user hiện tại (principal do JWT filter set luôn là UserPrincipal)
+     *
+     * @return user ID hoặc null nếu chưa authenticate
+     */
+    public static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
     /**
      * Kiểm tra user hiện tại đã authenticated chưa
      */
@@ -0,0 +1,62 @@
+-- ========================================
+-- Blog API - Trending Posts
+-- Version: 2.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- TABLE: post_view_buckets
+-- Lượt xem theo từng giờ (app gom trong memory rồi upsert định kỳ)
+-- ========================================
+CREATE TABLE post_view_buckets (
+    post_id BIGINT NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_post_view_buckets PRIMARY KEY (post_id, bucket_start),
+    CONSTRAINT fk_post_view_buckets_post FOREIGN KEY (post_id)
+        REFERENCES posts(id)
+        ON DELETE CASCADE
+);
+
+-- Index cho sliding window (lọc theo bucket_start)
+CREATE INDEX idx_post_view_buckets_bucket_start ON post_view_buckets(bucket_start);
+
+-- ========================================
+-- MATERIALIZED VIEW: trending_posts
+-- Score = comments * 3 + views trong 48h gần nhất
+-- now() được tính lại mỗi lần REFRESH → window tự trượt
+-- ========================================
+CREATE MATERIALIZED VIEW trending_posts AS
+SELECT
+    p.id AS post_id,
+    COALESCE(c.comment_count, 0) AS comment_count,
+    COALESCE(v.view_count, 0) AS view_count,
+    COALESCE(c.comment_count, 0) * 3 + COALESCE(v.view_count, 0) AS score
+FROM posts p
+LEFT JOIN (
+    SELECT post_id, COUNT(*) AS comment_count
+    FROM comments
+    WHERE created_at >= now() - INTERVAL '48 hours'
+      AND deleted_at IS NULL
+    GROUP BY post_id
+) c ON c.post_id = p.id
+LEFT JOIN (
+    SELECT post_id, SUM(views) AS view_count
+    FROM post_view_buckets
+    WHERE bucket_start >= now() - INTERVAL '48 hours'
+    GROUP BY post_id
+) v ON v.post_id = p.id
+WHERE p.deleted_at IS NULL
+  AND (c.comment_count IS NOT NULL OR v.view_count IS NOT NULL)
+WITH DATA;
+
+-- UNIQUE index là BẮT BUỘC cho REFRESH MATERIALIZED VIEW CONCURRENTLY
+CREATE UNIQUE INDEX ux_trending_posts_post_id ON trending_posts(post_id);
+
+-- Index cho ORDER BY score DESC LIMIT n
+CREATE INDEX idx_trending_posts_score ON trending_posts(score DESC);
+
+-- Performance notes:
+-- - REFRESH ... CONCURRENTLY không khoá reader (SELECT vẫn đọc snapshot cũ)
+-- - Request chỉ đọc top N từ view, không aggregate trên posts/comments
@@ -0,0 +1,34 @@
+-- ========================================
+-- Blog API - Refresh Tokens
+-- Version: 3.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- TABLE: refresh_tokens
+-- Chỉ lưu SHA-256 hash của refresh token (hex, 64 ký tự)
+-- family_id: chuỗi token sinh ra từ 1 lần login (rotation)
+-- ========================================
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Revoke theo family (logout / phát hiện reuse)
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+
+-- Cleanup token hết hạn
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- FK index (ON DELETE CASCADE khi xoá user)
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
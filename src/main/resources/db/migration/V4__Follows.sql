@@ -0,0 +1,42 @@
+-- ========================================
+-- Blog API - Follow Graph
+-- Version: 4.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- TABLE: follows
+-- follower_id theo dõi followee_id (home timeline của follower nhận post của followee)
+-- ========================================
+CREATE TABLE follows (
+    id BIGSERIAL PRIMARY KEY,
+    follower_id BIGINT NOT NULL,
+    followee_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_follows_follower_followee UNIQUE (follower_id, followee_id),
+    CONSTRAINT ck_follows_not_self CHECK (follower_id <> followee_id),
+    CONSTRAINT fk_follows_follower FOREIGN KEY (follower_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_follows_followee FOREIGN KEY (followee_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Fan-out: duyệt followers của 1 author theo keyset (followee_id, follower_id > ?)
+-- (follower_id, followee_id) đã có index từ UNIQUE constraint
+CREATE INDEX idx_follows_followee_follower ON follows(followee_id, follower_id);
+
+-- ========================================
+-- users.follower_count
+-- Đếm sẵn (cập nhật khi follow/unfollow) → createPost biết author có phải
+-- "celebrity" (fan-out-on-read) mà không COUNT(*) trên follows
+-- ========================================
+ALTER TABLE users ADD COLUMN follower_count BIGINT NOT NULL DEFAULT 0;
+
+-- Timeline rebuild / celebrity lookup lọc followees theo follower_count
+CREATE INDEX idx_users_follower_count ON users(follower_count);
+
+-- Timeline: post mới nhất của 1 nhóm author (rebuild + fan-out-on-read cho celebrity)
+CREATE INDEX idx_posts_user_created_at ON posts(user_id, created_at DESC) WHERE deleted_at IS NULL;
@@ -0,0 +1,23 @@
+-- ========================================
+-- Blog API - Post Excerpt
+-- Version: 5.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- posts.excerpt
+-- Tính sẵn khi ghi (Post @PrePersist/@PreUpdate) → list view=summary không đọc content TEXT
+-- ========================================
+ALTER TABLE posts ADD COLUMN excerpt VARCHAR(255);
+
+-- Backfill cùng quy tắc với Post.toExcerpt(): gộp whitespace, cắt 200 ký tự + '…'
+UPDATE posts
+SET excerpt = CASE
+        WHEN char_length(s.text) > 200 THEN rtrim(left(s.text, 200)) || '…'
+        ELSE s.text
+    END
+FROM (
+    SELECT id, btrim(regexp_replace(content, '\s+', ' ', 'g')) AS text
+    FROM posts
+) s
+WHERE posts.id = s.id;
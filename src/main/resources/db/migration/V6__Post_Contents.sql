@@ -0,0 +1,29 @@
+-- ========================================
+-- Blog API - Post Contents
+-- Version: 6.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- TABLE: post_contents
+-- Body của post tách khỏi posts (chung khoá chính) → load post chỉ để
+-- kiểm tra quyền / validate / cleanup không kéo theo content TEXT
+-- ========================================
+CREATE TABLE post_contents (
+    post_id BIGINT PRIMARY KEY,
+    content TEXT NOT NULL,
+
+    CONSTRAINT fk_post_contents_post FOREIGN KEY (post_id)
+        REFERENCES posts(id)
+        ON DELETE CASCADE
+);
+
+-- Chuyển dữ liệu hiện có
+INSERT INTO post_contents (post_id, content)
+SELECT id, content FROM posts;
+
+-- Index full-text search đi theo cột content sang bảng mới
+DROP INDEX IF EXISTS idx_posts_content;
+CREATE INDEX idx_post_contents_content ON post_contents USING gin(to_tsvector('english', content));
+
+ALTER TABLE posts DROP COLUMN content;
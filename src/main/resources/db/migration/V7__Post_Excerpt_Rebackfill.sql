@@ -0,0 +1,24 @@
+-- ========================================
+-- Blog API - Post Excerpt (re-backfill)
+-- Version: 7.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- posts.excerpt
+-- V5 dùng \s (Unicode whitespace theo locale) trong khi Post.toExcerpt() dùng \s của Java
+-- (chỉ ASCII) → excerpt backfill có thể khác excerpt tính lại ở lần update kế tiếp.
+-- Tính lại theo đúng quy tắc của Post.toExcerpt():
+-- - Gộp [ \t\n\v\f\r]+ thành 1 dấu cách, chỉ trim dấu cách
+-- - Cắt 200 code point (left()/char_length đếm code point) + '…'
+-- ========================================
+UPDATE posts
+SET excerpt = CASE
+        WHEN char_length(s.text) > 200 THEN rtrim(left(s.text, 200), ' ') || '…'
+        ELSE s.text
+    END
+FROM (
+    SELECT post_id, btrim(regexp_replace(content, '[ \t\n\v\f\r]+', ' ', 'g'), ' ') AS text
+    FROM post_contents
+) s
+WHERE posts.id = s.post_id;
@@ -0,0 +1,12 @@
+-- ========================================
+-- Blog API - Account đang bị xoá async
+-- Version: 8.0
+-- Database: PostgreSQL 17+
+-- ========================================
+
+-- ========================================
+-- users.deleting
+-- Account lớn được xoá theo batch (có thể nhiều phút): row user còn tồn tại đến cuối job
+-- → cờ này disable account ngay khi job được submit (login, access token, refresh đều bị từ chối)
+-- ========================================
+ALTER TABLE users ADD COLUMN deleting BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,144 @@
+package com.example.blogapi;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+/**
+ * Chạy native binary với H2 và so sánh với bản JVM (cùng build)
+ *
+ * 🎯 KIỂM TRA:
+ * - Native binary khởi động và phục vụ được request thật (hints đủ cho JPA, Jackson, JJWT, ...)
+ * - Thời gian đến request thành công đầu tiên + RSS sau request đó: native phải thấp hơn JVM
+ *
+ * 📚 CHẠY: ./mvnw -Pnative verify (failsafe truyền native.binary + jvm.jar)
+ *
+ * ⚠️ Bean definitions được AOT chốt theo profile prod → các property dưới đây chỉ đổi
+ * giá trị lúc chạy: H2 thay PostgreSQL, Flyway trỏ vào location rỗng, Hibernate tự tạo schema
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+@EnabledOnOs(OS.LINUX)
+class NativeImageIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void nativeBinary_shouldServeRequestsFasterAndSmallerThanJvm() throws Exception {
+        Measurement nativeRun = measure("native", List.of(System.getProperty("native.binary")), 18081);
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Measurement jvmRun = measure("jvm", List.of(java, "-jar", System.getProperty("jvm.jar")), 18082);
+
+        String comparison = writeComparison(nativeRun, jvmRun);
+
+        assertTrue(nativeRun.startupMillis() < jvmRun.startupMillis(),
+                "native phải khởi động nhanh hơn JVM\n" + comparison);
+        assertTrue(nativeRun.rssKb() < jvmRun.rssKb(),
+                "native phải dùng ít bộ nhớ hơn JVM\n" + comparison);
+    }
+
+    /**
+     * Ghi bảng so sánh ra target/native-it-comparison.txt (cạnh log của từng process)
+     * và trả về nội dung để gắn vào message của assertion
+     */
+    private static String writeComparison(Measurement nativeRun, Measurement jvmRun) throws IOException {
+        String comparison = String.format("%-8s %14s %10s%n", "build", "first request", "RSS")
+                + row("native", nativeRun)
+                + row("jvm", jvmRun);
+        Files.writeString(Path.of("target", "native-it-comparison.txt"), comparison);
+        return comparison;
+    }
+
+    private static String row(String name, Measurement run) {
+        return String.format("%-8s %11d ms %7d MB%n", name, run.startupMillis(), run.rssKb() / 1024);
+    }
+
+    private Measurement measure(String name, List<String> launcher, int port) throws Exception {
+        List<String> command = new ArrayList<>(launcher);
+        command.addAll(h2Arguments(port));
+
+        Path log = Path.of("target", "native-it-" + name + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitFirstSuccessfulRequest(process, port, log);
+            long startupMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            return new Measurement(startupMillis, readRssKb(process.pid()));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static List<String> h2Arguments(int port) {
+        return List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=jdbc:h2:mem:native-it;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.flyway.locations=classpath:db/native-it",
+                "--app.trending.enabled=false",
+                "--app.jwt.secret=58c6bc688fe95096789a34aae52a9808c6bcbf18ceeabcbbcca4c70168fc426e",
+                "--spring.data.redis.password=");
+    }
+
+    private void awaitFirstSuccessfulRequest(Process process, int port, Path log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/posts?page=0&size=1"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited early, see " + log.toAbsolutePath());
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Chưa listen port → thử lại
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static long readRssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException("VmRSS not found for pid " + pid);
+    }
+
+    private record Measurement(long startupMillis, long rssKb) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.blogapi.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.blogapi.config.JwtProperties;
+import com.example.blogapi.security.JwtTokenProvider;
+import com.example.blogapi.security.TokenRevocationStore;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * So sánh chi phí validate JWT trên mỗi request
+ *
+ * 📚 3 KỊCH BẢN:
+ * - legacyThreeParses: filter cũ (extractUsername + validateToken → 3 lần parse,
+ * mỗi lần decode secret + build key + build parser mới)
+ * - prebuiltParserSingleParse: 1 lần parse với key/parser dựng sẵn, không cache
+ * - verifiedTokenCacheHit: JwtTokenProvider.parseClaims() với token đã verify
+ * (SHA-256 digest + lookup VerifiedTokenCache) + validate trên Claims
+ *
+ * ▶️ CHẠY:
+ * 
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test-cp.txt) \
+ *     com.example.blogapi.benchmark.JwtValidationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "58c6bc688fe95096789a34aae52a9808c6bcbf18ceeabcbbcca4c70168fc426e";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser prebuiltParser;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(86_400_000L);
+
+        jwtTokenProvider = new JwtTokenProvider(properties, new SimpleMeterRegistry(),
+                new TokenRevocationStore(mock(StringRedisTemplate.class)));
+        userDetails = new User("john_doe", "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtTokenProvider.generateToken(userDetails);
+        prebuiltParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build();
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean prebuiltParserSingleParse() {
+        Claims claims = prebuiltParser.parseSignedClaims(token).getPayload();
+        return jwtTokenProvider.validateToken(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean verifiedTokenCacheHit() {
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        return jwtTokenProvider.validateToken(claims, userDetails);
+    }
+
+    /**
+     * Bản sao của extractAllClaims() trước khi tối ưu
+     */
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
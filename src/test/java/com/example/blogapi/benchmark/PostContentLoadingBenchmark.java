@@ -0,0 +1,137 @@
+package com.example.blogapi.benchmark;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.blogapi.entity.Comment;
+import com.example.blogapi.entity.Post;
+import com.example.blogapi.entity.PostContent;
+import com.example.blogapi.entity.User;
+
+/**
+ * So sánh bộ nhớ cấp phát khi load Post cho các path chỉ cần metadata
+ *
+ * 📚 2 KỊCH BẢN (1 trang 20 posts, content contentKb KB mỗi post, H2 qua TCP):
+ * - metadataOnly: SELECT posts như ownership / cleanup / validate comment,
+ * post_contents không được đọc (Post.body là proxy lazy)
+ * - withContent: JOIN FETCH content, tương đương mọi lần load Post trước khi tách bảng
+ *
+ * ⚡ So sánh cột gc.alloc.rate.norm (byte cấp phát / lần gọi) từ GCProfiler
+ *
+ * ▶️ CHẠY:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/test-cp.txt) \
+ *     com.example.blogapi.benchmark.PostContentLoadingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostContentLoadingBenchmark {
+
+    private static final int POSTS = 20;
+
+    @Param({ "4", "32" })
+    private int contentKb;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // H2 qua TCP: driver phải decode content từ socket như PostgreSQL
+        // (H2 in-process trả lại chính String đang lưu → không thấy khác biệt cấp phát)
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(PostContent.class)
+                .addAnnotatedClass(Comment.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:post-content-benchmark")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+
+        String content = "x".repeat(contentKb * 1024);
+        // Không có Spring → AuditingEntityListener không set createdAt
+        LocalDateTime now = LocalDateTime.now();
+        sessionFactory.inTransaction(session -> {
+            User author = new User();
+            author.setCreatedAt(now);
+            author.setUsername("author");
+            author.setPassword("secret");
+            author.setRole("ROLE_USER");
+            session.persist(author);
+
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post();
+                post.setTitle("Post " + i);
+                post.setContent(content);
+                post.setUser(author);
+                post.setCreatedAt(now);
+                session.persist(post);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int metadataOnly() {
+        try (Session session = sessionFactory.openSession()) {
+            List<Post> posts = session.createSelectionQuery(
+                    "SELECT p FROM Post p WHERE p.deletedAt IS NULL", Post.class).getResultList();
+            return posts.stream().mapToInt(post -> post.getTitle().length()).sum();
+        }
+    }
+
+    @Benchmark
+    public int withContent() {
+        try (Session session = sessionFactory.openSession()) {
+            List<Post> posts = session.createSelectionQuery(
+                    "SELECT p FROM Post p JOIN FETCH p.body WHERE p.deletedAt IS NULL", Post.class).getResultList();
+            return posts.stream().mapToInt(post -> post.getTitle().length() + post.getContent().length()).sum();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostContentLoadingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.blogapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.example.blogapi.config.logging.SamplingTurboFilter;
+import com.example.blogapi.dto.response.PostResponse;
+import com.example.blogapi.entity.Post;
+import com.example.blogapi.repository.ResourceOwner;
+
+/**
+ * Hints thiếu chỉ lộ ra khi chạy native binary → kiểm tra các nhóm chính ngay trên JVM
+ */
+class BlogApiRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new BlogApiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_shouldCoverScannedPackages() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Post.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PostResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ResourceOwner.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.example.blogapi.mapper.PostMapperImpl")).test(hints));
+    }
+
+    @Test
+    void registerHints_shouldCoverLibrariesAndResources() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SamplingTurboFilter.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__Initial_Schema.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.blogapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource target;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    // ============== TEST CASE 1: Hết permit → fail nhanh ==============
+
+    @Test
+    void getConnection_whenLimitReached_shouldTimeout() throws Exception {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.getInUse());
+    }
+
+    // ============== TEST CASE 2: close() trả permit đúng 1 lần ==============
+
+    @Test
+    void close_shouldReleasePermitOnce() throws Exception {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.getInUse());
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(3)).getConnection();
+    }
+}
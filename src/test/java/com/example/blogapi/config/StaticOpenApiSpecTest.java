@@ -0,0 +1,70 @@
+package com.example.blogapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * static/openapi.json được generate lúc build và commit cùng code
+ * → fail nếu thêm/đổi endpoint mà quên chạy ./mvnw -Popenapi verify
+ */
+class StaticOpenApiSpecTest {
+
+    @Test
+    void staticSpec_shouldContainEveryControllerEndpoint() throws Exception {
+        JsonNode paths;
+        try (InputStream in = getClass().getResourceAsStream("/static/openapi.json")) {
+            assertNotNull(in, "static/openapi.json không tồn tại");
+            paths = new ObjectMapper().readTree(in).path("paths");
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (Class<?> controller : controllers()) {
+            RequestMapping base = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+            String prefix = base != null && base.path().length > 0 ? base.path()[0] : "";
+
+            for (Method method : controller.getDeclaredMethods()) {
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                if (mapping == null) {
+                    continue;
+                }
+                String path = prefix + (mapping.path().length > 0 ? mapping.path()[0] : "");
+                for (RequestMethod httpMethod : mapping.method()) {
+                    String operation = httpMethod.name().toLowerCase();
+                    if (!paths.path(path).has(operation)) {
+                        missing.add(httpMethod + " " + path);
+                    }
+                }
+            }
+        }
+
+        assertTrue(missing.isEmpty(), "Thiếu trong static/openapi.json (chạy ./mvnw -Popenapi verify): " + missing);
+    }
+
+    private static List<Class<?>> controllers() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+
+        List<Class<?>> controllers = new ArrayList<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents("com.example.blogapi.controller")) {
+            controllers.add(Class.forName(definition.getBeanClassName()));
+        }
+        return controllers;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.blogapi.config.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+    private Logger hotLogger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        hotLogger = context.getLogger("com.example.blogapi.service.PostService");
+        hotLogger.setLevel(Level.INFO);
+
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.addLogger("com.example.blogapi.service");
+        filter.setBurst(3);
+        filter.setSampleRate(10);
+        filter.start();
+    }
+
+    // ============== TEST CASE 1: Vượt burst → chỉ ghi 1/sampleRate ==============
+
+    @Test
+    void decide_hotMessage_shouldPassBurstThenSample() {
+        int passed = 0;
+        for (int i = 0; i < 103; i++) {
+            if (decide(hotLogger, Level.INFO, "Fetching posts - Page: {}") == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        // 3 burst + 100 / 10 sampled
+        assertEquals(13, passed);
+    }
+
+    // ============== TEST CASE 2: WARN và logger ngoài danh sách không bị sample ==============
+
+    @Test
+    void decide_warnOrUnlistedLogger_shouldAlwaysPass() {
+        Logger other = context.getLogger("com.example.blogapi.controller.PostController");
+        other.setLevel(Level.INFO);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.WARN, "Slow query"));
+            assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO, "Handling request"));
+        }
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.blogapi.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PostTest {
+
+    // ============== TEST CASE 1: Excerpt cắt theo code point giống left() của PostgreSQL ==============
+
+    @Test
+    void toExcerpt_shouldCountCodePointsAndOnlyCollapseAsciiWhitespace() {
+        // 😀 là 2 UTF-16 unit nhưng 1 code point → đủ 200 code point thì không bị cắt
+        String emoji = "😀".repeat(Post.EXCERPT_LENGTH);
+        assertEquals(emoji, Post.toExcerpt(emoji));
+        assertEquals(emoji + "…", Post.toExcerpt(emoji + "x"));
+
+        // NBSP (U+00A0) không phải whitespace của quy tắc excerpt → giữ nguyên
+        assertEquals("a b\u00A0c", Post.toExcerpt("  a \t\n b\u00A0c \r\n"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.blogapi.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    // ============== TEST CASE 1: Hash trên pool + metrics ==============
+
+    @Test
+    void encodeAndMatches_shouldRunOnPoolAndRecordTimer() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 8, meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    // ============== TEST CASE 2: Queue đầy → fail fast ==============
+
+    @Test
+    void encode_whenPoolAndQueueFull_shouldRejectWithServiceOverloaded() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueueSize(1);
+
+        assertThrows(ServiceOverloadedException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+
+        release.countDown();
+        String first = running.get(5, TimeUnit.SECONDS);
+        String second = queued.get(5, TimeUnit.SECONDS);
+        assertTrue(encoder.matches("a", first));
+        assertTrue(encoder.matches("b", second));
+    }
+
+    // ============== TEST CASE 3: Đổi cost → upgrade ==============
+
+    @Test
+    void upgradeEncoding_whenStoredCostLower_shouldReturnTrue() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(oldHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    private void waitForQueueSize(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("auth.password.hash.queue.size").gauge().value() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.blogapi.config.ConcurrencyLimitProperties.Limit;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long BASE_RTT = 10_000_000L;
+
+    // ============== TEST CASE 1: Vượt limit → shed ==============
+
+    @Test
+    void tryAcquire_atLimit_shouldReject() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(new Limit(2, 1, 10), 0.2);
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertEquals(1, limiter.tryAcquire());
+    }
+
+    // ============== TEST CASE 2: Latency tăng → limit giảm ==============
+
+    @Test
+    void onSuccess_latencySpike_shouldShrinkLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(new Limit(50, 5, 100), 0.2);
+        saturate(limiter, BASE_RTT, 50);
+        int before = limiter.getLimit();
+
+        saturate(limiter, BASE_RTT * 10, 2);
+
+        assertTrue(limiter.getLimit() < before, "limit phải giảm khi latency tăng");
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    // ============== TEST CASE 3: Latency ổn định + tải cao → limit tăng ==============
+
+    @Test
+    void onSuccess_stableLatencyUnderLoad_shouldGrowLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(new Limit(20, 5, 100), 0.2);
+
+        saturate(limiter, BASE_RTT, 50);
+
+        assertTrue(limiter.getLimit() > 20, "limit phải tăng khi latency ổn định");
+    }
+
+    /**
+     * Mỗi vòng: giữ limiter đầy rồi hoàn thành toàn bộ request với cùng latency
+     */
+    private static void saturate(GradientConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire() >= 0) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(rttNanos, acquired - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.example.blogapi.config.JwtProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * DB mode (app.jwt.stateless=false): account xoá async vẫn còn row user trong lúc job chạy
+ * → token cũ phải bị chặn bởi revocation registry / principal disabled, không chỉ ở stateless mode
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "58c6bc688fe95096789a34aae52a9808c6bcbf18ceeabcbbcca4c70168fc426e";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserRevocationRegistry userRevocationRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(86_400_000L);
+        properties.setStateless(false);
+
+        jwtTokenProvider = new JwtTokenProvider(properties, new SimpleMeterRegistry(),
+                new TokenRevocationStore(mock(StringRedisTemplate.class)));
+        // Redis mock → broadcast lỗi, registry local vẫn ghi nhận
+        userRevocationRegistry = new UserRevocationRegistry(mock(StringRedisTemplate.class), properties);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, userDetailsCache, properties,
+                userRevocationRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void existingToken_afterAsyncDeletionSubmitted_shouldBeRejected() throws Exception {
+        UserPrincipal principal = principal(true);
+        String token = jwtTokenProvider.generateToken(principal);
+        when(userDetailsCache.get(eq("prolific"), any())).thenReturn(principal);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+        // UserService.deleteUser (async) → evictPrincipal sau commit; row user vẫn còn
+        userRevocationRegistry.revokeTokensOf(1L);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void token_ofAccountBeingDeleted_shouldBeRejected() throws Exception {
+        // users.deleting = true → CustomUserDetailsService trả principal disabled
+        String token = jwtTokenProvider.generateToken(principal(true));
+        when(userDetailsCache.get(eq("prolific"), any())).thenReturn(principal(false));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static UserPrincipal principal(boolean enabled) {
+        return new UserPrincipal(1L, "prolific", "hash", enabled, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.blogapi.config.JwtProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "58c6bc688fe95096789a34aae52a9808c6bcbf18ceeabcbbcca4c70168fc426e";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(properties(86_400_000L), meterRegistry,
+                new TokenRevocationStore(mock(StringRedisTemplate.class)));
+        userDetails = new User("john_doe", "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    // ============== TEST CASE 1: Cache hit bỏ qua verify ==============
+
+    @Test
+    void parseClaims_repeatedToken_shouldVerifyOnlyOnce() {
+        String token = jwtTokenProvider.generateToken(userDetails);
+
+        Claims first = jwtTokenProvider.parseClaims(token);
+        Claims second = jwtTokenProvider.parseClaims(token);
+
+        assertSame(first, second);
+        assertTrue(jwtTokenProvider.validateToken(second, userDetails));
+        assertEquals(1, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    // ============== TEST CASE 2: Revocation ==============
+
+    @Test
+    void revokeToken_shouldRejectSubsequentRequests() {
+        String token = jwtTokenProvider.generateToken(userDetails);
+        jwtTokenProvider.parseClaims(token);
+
+        jwtTokenProvider.revokeToken(token);
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.parseClaims(token));
+        assertFalse(jwtTokenProvider.validateToken(token, userDetails));
+    }
+
+    // ============== TEST CASE 3: Token hết hạn không được cache ==============
+
+    @Test
+    void parseClaims_expiredToken_shouldThrow() {
+        JwtTokenProvider shortLived = new JwtTokenProvider(properties(-1_000L), meterRegistry,
+                new TokenRevocationStore(mock(StringRedisTemplate.class)));
+        String token = shortLived.generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> shortLived.parseClaims(token));
+        assertThrows(ExpiredJwtException.class, () -> shortLived.parseClaims(token));
+    }
+
+    // ============== TEST CASE 4: Stateless claims ==============
+
+    @Test
+    void toPrincipal_tokenOfUserPrincipal_shouldRestoreIdAndRole() {
+        UserPrincipal principal = new UserPrincipal(7L, "jane", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        Claims claims = jwtTokenProvider.parseClaims(jwtTokenProvider.generateToken(principal));
+
+        UserPrincipal restored = jwtTokenProvider.toPrincipal(claims);
+
+        assertEquals(7L, restored.getId());
+        assertEquals("jane", restored.getUsername());
+        assertEquals("ROLE_ADMIN", restored.getRole());
+        assertTrue(jwtTokenProvider.validateToken(claims, restored));
+        // Token không có uid/role → filter quay về load từ DB
+        assertNull(jwtTokenProvider.toPrincipal(jwtTokenProvider.parseClaims(
+                jwtTokenProvider.generateToken(userDetails))));
+    }
+
+    private static JwtProperties properties(long expiration) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(expiration);
+        return properties;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.blogapi.config.RateLimitProperties;
+import com.example.blogapi.config.RateLimitProperties.KeyType;
+import com.example.blogapi.config.RateLimitProperties.Policy;
+import com.example.blogapi.support.TestSecurity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RateLimitProperties properties;
+    private LocalTokenBucketStore localStore;
+    private RedisTokenBucketStore redisStore;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Policy comments = new Policy();
+        comments.setName("comment-create");
+        comments.setMethod("POST");
+        comments.setPath("/api/v1/posts/{postId}/comments");
+        comments.setKey(KeyType.USER);
+        comments.setCapacity(2);
+        comments.setRefillTokens(1);
+        comments.setRefillPeriod(Duration.ofSeconds(10));
+
+        properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setPolicies(List.of(comments));
+
+        localStore = new LocalTokenBucketStore(properties, clock::get);
+        redisStore = mock(RedisTokenBucketStore.class);
+        filter = new RateLimitFilter(properties, localStore, redisStore,
+                new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestSecurity.clear();
+    }
+
+    // ============== TEST CASE 1: Burst vượt capacity → 429 ==============
+
+    @Test
+    void doFilter_whenBucketEmpty_shouldReturn429WithHeaders() throws Exception {
+        TestSecurity.authenticateAs("john_doe", "ROLE_USER");
+
+        assertEquals(200, call("POST", "/api/v1/posts/1/comments").getStatus());
+        MockHttpServletResponse second = call("POST", "/api/v1/posts/2/comments");
+        MockHttpServletResponse third = call("POST", "/api/v1/posts/1/comments");
+
+        assertEquals("2", second.getHeader("RateLimit-Limit"));
+        assertEquals("0", second.getHeader("RateLimit-Remaining"));
+        assertEquals("20", second.getHeader("RateLimit-Reset"));
+        assertEquals(429, third.getStatus());
+        assertEquals("10", third.getHeader("Retry-After"));
+        verifyNoInteractions(redisStore);
+
+        // Refill 1 token sau 10 giây
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(200, call("POST", "/api/v1/posts/1/comments").getStatus());
+    }
+
+    // ============== TEST CASE 2: Key theo user, route ngoài policy bỏ qua ==============
+
+    @Test
+    void doFilter_shouldKeyByUserAndSkipUnmatchedRoutes() throws Exception {
+        TestSecurity.authenticateAs("alice", "ROLE_USER");
+        call("POST", "/api/v1/posts/1/comments");
+        call("POST", "/api/v1/posts/1/comments");
+        assertEquals(429, call("POST", "/api/v1/posts/1/comments").getStatus());
+
+        TestSecurity.authenticateAs("bob", "ROLE_USER");
+        assertEquals(200, call("POST", "/api/v1/posts/1/comments").getStatus());
+
+        MockHttpServletResponse read = call("GET", "/api/v1/posts/1/comments");
+        assertEquals(200, read.getStatus());
+        assertNull(read.getHeader("RateLimit-Limit"));
+    }
+
+    // ============== TEST CASE 3: Idle eviction ==============
+
+    @Test
+    void evictIdleBuckets_shouldDropBucketsUnusedLongerThanIdleTimeout() throws Exception {
+        call("POST", "/api/v1/posts/1/comments");
+        assertEquals(1, localStore.size());
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        localStore.evictIdleBuckets();
+
+        assertEquals(0, localStore.size());
+    }
+
+    private MockHttpServletResponse call(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.blogapi.config.ResponseCacheProperties;
+import com.example.blogapi.service.ListGenerationService;
+import com.example.blogapi.service.PostViewService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":\"" + "x".repeat(2048) + "\"}";
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    private ListGenerationService listGenerationService;
+    private PostViewService postViewService;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        listGenerationService = mock(ListGenerationService.class);
+        postViewService = mock(PostViewService.class);
+        filter = new ResponseCacheFilter(new ResponseCacheProperties(), listGenerationService, postViewService,
+                new SimpleMeterRegistry());
+    }
+
+    // ============== TEST CASE 1: HIT ghi byte đã cache, gzip theo Accept-Encoding ==============
+
+    @Test
+    void doFilter_secondAnonymousGet_shouldServeCachedBytesWithoutController() throws Exception {
+        when(listGenerationService.etag(any(String[].class))).thenReturn("\"g1\"");
+
+        MockHttpServletResponse miss = call("/api/v1/posts/7", "page=0&size=10", null);
+        MockHttpServletResponse hit = call("/api/v1/posts/7", "size=10&page=0", "gzip, deflate");
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(BODY, miss.getContentAsString());
+        assertEquals("gzip", hit.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"p-7\"", hit.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), gunzip(hit.getContentAsByteArray()));
+        // Chi tiết post: HIT vẫn được tính lượt xem
+        verify(postViewService).recordView(any(), any(), any());
+    }
+
+    // ============== TEST CASE 2: Generation đổi (dữ liệu thay đổi) → MISS ==============
+
+    @Test
+    void doFilter_afterGenerationBump_shouldCallControllerAgain() throws Exception {
+        when(listGenerationService.etag(any(String[].class))).thenReturn("\"g1\"", "\"g2\"", (String) null);
+
+        call("/api/v1/posts/7/comments", null, null);
+        call("/api/v1/posts/7/comments", null, null);
+        // Redis lỗi → không dùng cache
+        MockHttpServletResponse bypass = call("/api/v1/posts/7/comments", null, null);
+
+        assertEquals(3, controllerCalls.get());
+        assertNull(bypass.getHeader(HttpHeaders.VARY));
+    }
+
+    // ============== TEST CASE 3: Param controller không bind không tạo entry mới ==============
+
+    @Test
+    void doFilter_unknownQueryParams_shouldShareEntry() throws Exception {
+        when(listGenerationService.etag(any(String[].class))).thenReturn("\"g1\"");
+
+        call("/api/v1/posts", "page=0&x=1", null);
+        call("/api/v1/posts", "page=0&x=2", null);
+        call("/api/v1/posts", "page=1&x=2", null);
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    private MockHttpServletResponse call(String path, String query, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=");
+                request.addParameter(pair[0], pair[1]);
+            }
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            controllerCalls.incrementAndGet();
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"p-7\"");
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationStoreTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(stringRedisTemplate);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    // ============== TEST CASE 1: revoke ghi key sống tới exp của token ==============
+
+    @Test
+    void revoke_shouldPersistDigestUntilTokenExpiry() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        store.revoke("abc", expiresAt);
+
+        ArgumentCaptor<Duration> ttl = ArgumentCaptor.forClass(Duration.class);
+        verify(valueOperations).set(eq(TokenRevocationStore.KEY_PREFIX + "abc"), eq(Long.toString(expiresAt)),
+                ttl.capture());
+        assertTrue(ttl.getValue().toMillis() > 0 && ttl.getValue().toMillis() <= 60_000);
+        assertTrue(store.isRevoked("abc"));
+    }
+
+    // ============== TEST CASE 2: node mới khởi động đọc lại logout đã xảy ra ==============
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadFromRedis_shouldRestoreRevocationsMissedOnChannel() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        String key = TokenRevocationStore.KEY_PREFIX + "abc";
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(key);
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(valueOperations.multiGet(List.of(key))).thenReturn(List.of(Long.toString(expiresAt)));
+
+        store.loadFromRedis();
+
+        assertTrue(store.isRevoked("abc"));
+        assertFalse(store.isRevoked("other"));
+    }
+}
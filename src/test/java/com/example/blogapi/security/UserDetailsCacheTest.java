@@ -0,0 +1,106 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private Message message;
+
+    private UserDetailsCache userDetailsCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return new User(username, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(stringRedisTemplate, 100, 300);
+    }
+
+    @Test
+    void get_shouldHitLoaderOnlyOnce() {
+        UserDetails first = userDetailsCache.get("john_doe", loader);
+        UserDetails second = userDetailsCache.get("john_doe", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldEvictLocallyAndBroadcast() {
+        userDetailsCache.get("john_doe", loader);
+
+        userDetailsCache.invalidate("john_doe");
+        userDetailsCache.get("john_doe", loader);
+
+        assertEquals(2, loads.get());
+        verify(stringRedisTemplate).convertAndSend(UserDetailsCache.INVALIDATION_CHANNEL, "john_doe");
+    }
+
+    @Test
+    void invalidate_whenRedisDown_shouldStillEvictLocally() {
+        userDetailsCache.get("john_doe", loader);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(stringRedisTemplate).convertAndSend(UserDetailsCache.INVALIDATION_CHANNEL, "john_doe");
+
+        userDetailsCache.invalidate("john_doe");
+        userDetailsCache.get("john_doe", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onMessage_fromOtherNode_shouldEvictLocalEntry() {
+        userDetailsCache.get("john_doe", loader);
+        when(message.getBody()).thenReturn("john_doe".getBytes(StandardCharsets.UTF_8));
+
+        userDetailsCache.onMessage(message, null);
+        userDetailsCache.get("john_doe", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenLoaderFails_shouldPropagateAndNotCacheFailure() {
+        Function<String, UserDetails> failing = username -> {
+            throw new UsernameNotFoundException(username);
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("ghost", failing));
+        userDetailsCache.get("ghost", loader);
+
+        assertEquals(1, loads.get());
+    }
+}
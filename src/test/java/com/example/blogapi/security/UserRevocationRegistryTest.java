@@ -0,0 +1,69 @@
+package com.example.blogapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.example.blogapi.config.JwtProperties;
+
+@ExtendWith(MockitoExtension.class)
+class UserRevocationRegistryTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private Message message;
+
+    private UserRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(86_400_000L);
+        registry = new UserRevocationRegistry(stringRedisTemplate, jwtProperties);
+    }
+
+    @Test
+    void revokeTokensOf_redisDown_shouldStillRejectOlderTokens() {
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(hashOperations).put(eq(UserRevocationRegistry.REVOCATION_HASH), eq("7"), anyString());
+        Date issuedBefore = new Date(System.currentTimeMillis() - 5_000);
+
+        registry.revokeTokensOf(7L);
+
+        assertTrue(registry.isRevoked(7L, issuedBefore));
+        assertFalse(registry.isRevoked(7L, new Date(System.currentTimeMillis() + 5_000)));
+        assertFalse(registry.isRevoked(8L, issuedBefore));
+    }
+
+    @Test
+    void onMessage_shouldApplyRevocationFromOtherNode() {
+        long revokedAt = System.currentTimeMillis() / 1000;
+        when(message.getBody()).thenReturn(("7:" + revokedAt).getBytes(StandardCharsets.UTF_8));
+
+        registry.onMessage(message, null);
+
+        assertTrue(registry.isRevoked(7L, new Date((revokedAt - 60) * 1000)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.example.blogapi.config.AuditorAwareImpl;
+import com.example.blogapi.dto.request.CommentCreateRequest;
+import com.example.blogapi.dto.request.PostCreateRequest;
+import com.example.blogapi.entity.Comment;
+import com.example.blogapi.entity.Post;
+import com.example.blogapi.entity.User;
+import com.example.blogapi.mapper.CommentMapperImpl;
+import com.example.blogapi.mapper.PostMapperImpl;
+import com.example.blogapi.mapper.UserMapperImpl;
+import com.example.blogapi.security.ResourceSecurityService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Create path phải là append-only: chỉ SELECT author/post + INSERT,
+ * KHÔNG initialize User.posts / User.comments.
+ *
+ * 🎯 KIỂM TRA:
+ * - Số statement khi tạo post/comment KHÔNG tăng theo lịch sử của author
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ AppendOnlyCreateTest.AuditingConfig.class, PostService.class, CommentService.class,
+        ResourceSecurityService.class, PostMapperImpl.class, CommentMapperImpl.class, UserMapperImpl.class })
+class AppendOnlyCreateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Statistics statistics;
+
+    /**
+     * @EnableJpaAuditing tham chiếu bean theo tên "auditorAwareImpl"
+     */
+    @TestConfiguration
+    static class AuditingConfig {
+        @Bean
+        AuditorAwareImpl auditorAwareImpl() {
+            return new AuditorAwareImpl();
+        }
+
+        /**
+         * Slice không bật caching → PostService.getPostsByIds luôn đọc DB
+         */
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createPost_statementCount_shouldNotGrowWithAuthorHistory() {
+        User newcomer = persistAuthorWithHistory("newcomer", 0);
+        User prolific = persistAuthorWithHistory("prolific", 50);
+
+        long newcomerStatements = countStatementsForCreatePost(newcomer);
+        long prolificStatements = countStatementsForCreatePost(prolific);
+
+        // SELECT user + INSERT post + INSERT post_contents
+        assertEquals(3, newcomerStatements);
+        assertEquals(newcomerStatements, prolificStatements);
+        assertFalse(Hibernate.isInitialized(entityManager.find(User.class, prolific.getId()).getPosts()));
+    }
+
+    @Test
+    void createComment_statementCount_shouldNotGrowWithAuthorHistory() {
+        User newcomer = persistAuthorWithHistory("newcomer", 0);
+        User prolific = persistAuthorWithHistory("prolific", 50);
+        Post post = persistPost(prolific, "Target post");
+        entityManager.flush();
+        entityManager.clear();
+
+        long newcomerStatements = countStatementsForCreateComment(post.getId(), newcomer);
+        long prolificStatements = countStatementsForCreateComment(post.getId(), prolific);
+
+        // SELECT post + SELECT user + INSERT comment
+        assertEquals(3, newcomerStatements);
+        assertEquals(newcomerStatements, prolificStatements);
+        assertFalse(Hibernate.isInitialized(entityManager.find(User.class, prolific.getId()).getComments()));
+    }
+
+    // ========== HELPERS ==========
+
+    private long countStatementsForCreatePost(User author) {
+        PostCreateRequest request = new PostCreateRequest();
+        request.setTitle("Another post");
+        request.setContent("Body");
+        request.setUserId(author.getId());
+
+        statistics.clear();
+        postService.createPost(request);
+        entityManager.flush();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
+    private long countStatementsForCreateComment(Long postId, User author) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setBody("Nice!");
+
+        statistics.clear();
+        commentService.createComment(postId, author.getId(), request);
+        entityManager.flush();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
+    private User persistAuthorWithHistory(String username, int history) {
+        User author = new User();
+        author.setUsername(username);
+        author.setPassword("secret");
+        author.setRole("ROLE_USER");
+        entityManager.persist(author);
+
+        for (int i = 0; i < history; i++) {
+            Post post = persistPost(author, "Post number " + i);
+
+            Comment comment = new Comment();
+            comment.setBody("Comment " + i);
+            comment.setPost(post);
+            comment.setAuthor(author);
+            entityManager.persist(comment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return author;
+    }
+
+    private Post persistPost(User author, String title) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent("Content of " + title);
+        post.setUser(author);
+        return entityManager.persist(post);
+    }
+}
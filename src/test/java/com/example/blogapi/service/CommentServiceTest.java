@@ -12,11 +12,18 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import com.example.blogapi.dto.request.CommentCreateRequest;
 import com.example.blogapi.dto.request.CommentUpdateRequest;
@@ -28,7 +35,12 @@ import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.CommentMapper;
 import com.example.blogapi.repository.CommentRepository;
 import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.ResourceOwner;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.security.ResourceSecurityService;
+import com.example.blogapi.support.StatementBudget;
+import com.example.blogapi.support.StatementBudgetTest;
+import com.example.blogapi.support.TestSecurity;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
@@ -45,6 +57,12 @@ class CommentServiceTest {
 	@Mock
 	private CommentMapper commentMapper;
 
+	@Mock
+	private ResourceSecurityService resourceSecurityService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private CommentService commentService;
 
@@ -189,7 +207,6 @@ class CommentServiceTest {
 
 		Post mockPost = new Post();
 		mockPost.setId(postId);
-		when(postRepository.existsById(postId)).thenReturn(true);
 
 		Comment existingComment = new Comment();
 		existingComment.setId(commentId);
@@ -200,7 +217,7 @@ class CommentServiceTest {
 		mockUser.setUsername("john_doe");
 		existingComment.setAuthor(mockUser);
 
-		when(commentRepository.findById(commentId)).thenReturn(Optional.of(existingComment));
+		when(commentRepository.findByIdWithPostAndAuthor(commentId)).thenReturn(Optional.of(existingComment));
 
 		Comment updatedComment = new Comment();
 		updatedComment.setId(commentId);
@@ -222,8 +239,9 @@ class CommentServiceTest {
 		assertNotNull(result);
 		assertEquals("Updated comment body", result.getBody());
 
-		verify(postRepository, times(1)).existsById(postId);
-		verify(commentRepository, times(1)).findById(commentId);
+		// Post được fetch cùng comment → không còn existsById riêng
+		verify(postRepository, never()).existsById(any());
+		verify(commentRepository, times(1)).findByIdWithPostAndAuthor(commentId);
 		verify(commentRepository, times(1)).save(existingComment);
 	}
 
@@ -235,21 +253,16 @@ class CommentServiceTest {
 		Long postId = 1L;
 		Long commentId = 1L;
 
-		Comment mockComment = new Comment();
-		mockComment.setId(commentId);
-
-		Post mockPost = new Post();
-		mockPost.setId(postId);
-		mockComment.setPost(mockPost);
-
-		when(commentRepository.findById(commentId)).thenReturn(Optional.of(mockComment));
+		// Ownership projection đã memoize bởi @PreAuthorize → service không load comment
+		when(resourceSecurityService.findCommentOwner(commentId))
+				.thenReturn(Optional.of(new ResourceOwner(2L, "john_doe", postId)));
 
 		// ========== ACT ==========
 		commentService.deleteComment(postId, commentId);
 
 		// ========== ASSERT ==========
-		verify(commentRepository, times(1)).findById(commentId);
-		verify(commentRepository, times(1)).delete(mockComment);
+		verify(commentRepository, times(1)).deleteCommentById(commentId);
+		verify(commentRepository, never()).findById(any());
 	}
 
 	// ============== TEST CASE 6: Delete Comment - Not Found ==============
@@ -260,7 +273,7 @@ class CommentServiceTest {
 		Long postId = 1L;
 		Long commentId = 999L;
 
-		when(commentRepository.findById(commentId)).thenReturn(Optional.empty());
+		when(resourceSecurityService.findCommentOwner(commentId)).thenReturn(Optional.empty());
 
 		// ========== ACT & ASSERT ==========
 		ResourceNotFoundException exception = assertThrows(
@@ -269,7 +282,117 @@ class CommentServiceTest {
 
 		assertEquals("Không tìm thấy bình luận với ID: 999", exception.getMessage());
 
-		verify(commentRepository, times(1)).findById(commentId);
-		verify(commentRepository, never()).delete(any());
+		verify(commentRepository, never()).deleteCommentById(any());
+	}
+
+	// ============== STATEMENT BUDGETS (H2 thật, không mock) ==============
+
+	/**
+	 * Mỗi test khai báo số SQL statement tối đa qua @StatementBudget
+	 * (bao gồm cả check @PreAuthorize isCommentAuthor)
+	 */
+	@Nested
+	@StatementBudgetTest
+	class StatementBudgets {
+
+		@Autowired
+		private CommentService realCommentService;
+
+		@Autowired
+		private TestEntityManager entityManager;
+
+		@Autowired
+		private CommentRepository realCommentRepository;
+
+		private User author;
+		private Post post;
+		private Comment comment;
+
+		@BeforeEach
+		void setUp() {
+			author = persistUser("commenter");
+			post = persistPost(persistUser("owner"));
+			comment = persistComment(post, author, "First!");
+
+			// Comments của các author khác để bắt N+1 khi map authorUsername
+			for (int i = 0; i < 5; i++) {
+				persistComment(post, persistUser("reader" + i), "Comment " + i);
+			}
+
+			TestSecurity.authenticateAs(author.getUsername(), "ROLE_USER");
+		}
+
+		@AfterEach
+		void tearDown() {
+			TestSecurity.clear();
+		}
+
+		@Test
+		// SELECT post + SELECT author + INSERT comment
+		@StatementBudget(3)
+		void createComment_withinBudget() {
+			CommentCreateRequest request = new CommentCreateRequest();
+			request.setBody("Nice!");
+
+			realCommentService.createComment(post.getId(), author.getId(), request);
+		}
+
+		@Test
+		// existsById + SELECT page (fetch author), không N+1
+		@StatementBudget(2)
+		void getCommentsByPostId_withinBudget() {
+			realCommentService.getCommentsByPostId(post.getId(), PageRequest.of(0, 10));
+		}
+
+		@Test
+		// isCommentAuthor: SELECT projection; update: 1 SELECT fetch join + UPDATE
+		@StatementBudget(3)
+		void updateComment_withinBudget() {
+			CommentUpdateRequest request = new CommentUpdateRequest();
+			request.setBody("Edited");
+
+			realCommentService.updateComment(post.getId(), comment.getId(), request);
+		}
+
+		@Test
+		// isCommentAuthor: SELECT projection (memoize, kèm post_id); DELETE
+		@StatementBudget(2)
+		void deleteComment_withinBudget() {
+			realCommentService.deleteComment(post.getId(), comment.getId());
+		}
+
+		@Test
+		// Comment của owner trên post của chính mình chỉ đếm 1 lần (progress job xoá user)
+		void countDeletedWithUser_shouldCountOwnCommentOnOwnPostOnce() {
+			User owner = post.getUser();
+			persistComment(post, owner, "Self reply");
+
+			// 6 comments có sẵn trên post + 1 comment của owner
+			assertEquals(7, realCommentRepository.countDeletedWithUser(owner.getId()));
+		}
+
+		private User persistUser(String username) {
+			User user = new User();
+			user.setUsername(username);
+			user.setPassword("secret");
+			user.setRole("ROLE_USER");
+			return entityManager.persist(user);
+		}
+
+		private Post persistPost(User owner) {
+			Post newPost = new Post();
+			newPost.setTitle("Post of " + owner.getUsername());
+			newPost.setContent("Content");
+			newPost.setUser(owner);
+			return entityManager.persist(newPost);
+		}
+
+		private Comment persistComment(Post target, User commentAuthor, String body) {
+			Comment newComment = new Comment();
+			newComment.setBody(body);
+			newComment.setPost(target);
+			newComment.setAuthor(commentAuthor);
+			return entityManager.persist(newComment);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HotPostRankerTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long T0 = 1_700_000_000_000L;
+
+    // ============== TEST CASE 1: Event mới thắng event cũ cùng trọng số ==============
+
+    @Test
+    void record_olderEventsShouldDecayByHalfLife() {
+        HotPostRanker ranker = new HotPostRanker(Duration.ofHours(1), 10);
+
+        // Post 1: 3 views lúc T0; post 2: 2 views sau 1h (3 / 2 = 1.5 < 2 sau 1 half-life)
+        for (int i = 0; i < 3; i++) {
+            ranker.record(1L, 1, T0);
+        }
+        ranker.record(2L, 1, T0 + HOUR);
+        ranker.record(2L, 1, T0 + HOUR);
+
+        List<HotPostRanker.Ranked> top = ranker.top(10);
+        assertEquals(List.of(2L, 1L), top.stream().map(HotPostRanker.Ranked::postId).toList());
+        assertEquals(1.5, ranker.scoreAt(top.get(1), T0 + HOUR), 1e-9);
+        assertEquals(0.75, ranker.scoreAt(top.get(1), T0 + 2 * HOUR), 1e-9);
+    }
+
+    // ============== TEST CASE 2: Top-K giới hạn capacity, post vượt admission vào lại ==============
+
+    @Test
+    void record_shouldKeepOnlyCapacityAndReadmitRisingPost() {
+        HotPostRanker ranker = new HotPostRanker(Duration.ofHours(1), 2);
+        ranker.record(1L, 3, T0);
+        ranker.record(2L, 2, T0);
+        ranker.record(3L, 1, T0);
+
+        assertEquals(List.of(1L, 2L), ranker.top(10).stream().map(HotPostRanker.Ranked::postId).toList());
+        assertEquals(3, ranker.size());
+
+        ranker.record(3L, 5, T0);
+
+        assertEquals(List.of(3L, 1L), ranker.top(10).stream().map(HotPostRanker.Ranked::postId).toList());
+    }
+
+    // ============== TEST CASE 3: Snapshot → restore giữ nguyên thứ tự, prune bỏ post nguội ==============
+
+    @Test
+    void snapshotAndRestore_shouldRebuildRankingAndPruneColdPosts() {
+        HotPostRanker ranker = new HotPostRanker(Duration.ofHours(1), 1);
+        ranker.record(1L, 1, T0);
+        ranker.record(2L, 4, T0);
+
+        // Snapshot lấy từ toàn bộ scores, không chỉ top-K
+        HotPostRanker restored = new HotPostRanker(Duration.ofHours(1), 10);
+        restored.restore(ranker.snapshot(10));
+        assertEquals(List.of(2L, 1L), restored.top(10).stream().map(HotPostRanker.Ranked::postId).toList());
+
+        // Sau 4h: post 1 còn 1/16 < 0.1 → bị dọn; post 2 (4/16) vẫn giữ
+        assertEquals(1, ranker.prune(0.1, T0 + 4 * HOUR));
+        assertEquals(1, ranker.size());
+        assertEquals(List.of(2L), ranker.top(10).stream().map(HotPostRanker.Ranked::postId).toList());
+    }
+}
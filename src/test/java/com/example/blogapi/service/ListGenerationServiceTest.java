@@ -0,0 +1,74 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ListGenerationServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ListGenerationService listGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        listGenerationService = new ListGenerationService(stringRedisTemplate);
+    }
+
+    // ============== TEST CASE 1: ETag ghép generation, key chưa có = 0 ==============
+
+    @Test
+    void etag_shouldJoinGenerationsOfAllScopes() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(
+                ListGenerationService.key(ListGenerationService.COMMENTS),
+                ListGenerationService.key(ListGenerationService.commentsOf(5L)))))
+                .thenReturn(Arrays.asList("3", null));
+
+        String etag = listGenerationService.etag(ListGenerationService.COMMENTS, ListGenerationService.commentsOf(5L));
+
+        assertEquals("\"g3.0\"", etag);
+    }
+
+    // ============== TEST CASE 2: Redis lỗi → không có ETag (full response) ==============
+
+    @Test
+    void etag_whenRedisDown_shouldReturnNull() {
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(listGenerationService.etag(ListGenerationService.POSTS));
+    }
+
+    // ============== TEST CASE 3: Thay đổi → 1 script cho mọi scope ==============
+
+    @Test
+    void onListChanged_shouldBumpEveryScopeInOneScript() {
+        listGenerationService.onListChanged(new ListChangedEvent(ListGenerationService.POSTS,
+                ListGenerationService.commentsOf(5L)));
+
+        verify(stringRedisTemplate).execute(any(), eq(List.of(
+                ListGenerationService.key(ListGenerationService.POSTS),
+                ListGenerationService.key(ListGenerationService.commentsOf(5L)))), any(String.class));
+    }
+}
@@ -1,27 +1,49 @@
 package com.example.blogapi.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import com.example.blogapi.dto.request.PostCreateRequest;
+import com.example.blogapi.dto.request.PostUpdateRequest;
 import com.example.blogapi.dto.response.PostResponse;
 import com.example.blogapi.entity.Post;
+import com.example.blogapi.entity.User;
 import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.PostMapper;
+import com.example.blogapi.repository.PostField;
 import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.support.StatementBudget;
+import com.example.blogapi.support.StatementBudgetTest;
+import com.example.blogapi.support.TestSecurity;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceTest {
@@ -31,6 +53,12 @@ class PostServiceTest {
     @Mock
     private PostMapper postMapper;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache postsCache;
+
     @InjectMocks
     private PostService postService;
 
@@ -46,9 +74,9 @@ class PostServiceTest {
         mockPostResponse.setId(postId);
         mockPostResponse.setTitle("Test Title");
 
-        // "Dạy" cho mock repository: "Khi ai đó gọi findById với postId,
+        // "Dạy" cho mock repository: "Khi ai đó gọi findByIdWithUser với postId,
         // hãy trả về một Optional chứa đối tượng mockPost"
-        when(postRepository.findById(postId)).thenReturn(Optional.of(mockPost));
+        when(postRepository.findByIdWithUser(postId)).thenReturn(Optional.of(mockPost));
 
         // "Dạy" cho mock mapper: "Khi ai đó gọi toPostResponse với mockPost,
         // hãy trả về đối tượng mockPostResponse"
@@ -65,7 +93,7 @@ class PostServiceTest {
         assertEquals("Test Title", actualResponse.getTitle());
 
         // (Tùy chọn) Kiểm tra xem các mock có được gọi đúng số lần không
-        verify(postRepository, times(1)).findById(postId);
+        verify(postRepository, times(1)).findByIdWithUser(postId);
         verify(postMapper, times(1)).toPostResponse(mockPost);
     }
 
@@ -74,9 +102,9 @@ class PostServiceTest {
         // 1. ARRANGE (Sắp xếp kịch bản)
         Long postId = 99L;
 
-        // "Dạy" cho mock repository: "Khi ai đó gọi findById với postId này,
+        // "Dạy" cho mock repository: "Khi ai đó gọi findByIdWithUser với postId này,
         // hãy trả về một Optional rỗng"
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postRepository.findByIdWithUser(postId)).thenReturn(Optional.empty());
 
         // 2. ACT & 3. ASSERT (Hành động và Khẳng định trong cùng một bước)
         // Khẳng định rằng khi gọi postService.getPostById(postId),
@@ -89,4 +117,201 @@ class PostServiceTest {
         // trước đó
         verify(postMapper, never()).toPostResponse(any(Post.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPostsByIds_shouldLoadCacheMissesInOneQueryAndKeepOrder() {
+        when(cacheManager.getCache("posts")).thenReturn(postsCache);
+        when(postsCache.get(5L, PostResponse.class)).thenReturn(response(5L));
+        Post post4 = post(4L);
+        Post post3 = post(3L);
+        // Post 9 đã bị xoá → không có trong kết quả query
+        when(postRepository.findAllByIdInWithUser(List.of(4L, 9L, 3L))).thenReturn(List.of(post3, post4));
+        when(postMapper.toPostResponse(post4)).thenReturn(response(4L));
+        when(postMapper.toPostResponse(post3)).thenReturn(response(3L));
+
+        List<PostResponse> posts = postService.getPostsByIds(List.of(5L, 4L, 9L, 3L));
+
+        assertEquals(List.of(5L, 4L, 3L), posts.stream().map(PostResponse::getId).toList());
+        verify(postsCache).put(4L, posts.get(1));
+        verify(postsCache).put(3L, posts.get(2));
+    }
+
+    private static Post post(Long id) {
+        Post post = new Post();
+        post.setId(id);
+        return post;
+    }
+
+    private static PostResponse response(Long id) {
+        PostResponse response = new PostResponse();
+        response.setId(id);
+        return response;
+    }
+
+    // ============== STATEMENT BUDGETS (H2 thật, không mock) ==============
+
+    @Test
+    void getAllPostFields_whenSortByContent_shouldRejectBeforeQuery() {
+        // content nằm ở PostContent → không sort được trên root Post
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("content"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> postService.getAllPostFields(PostField.SUMMARY, pageable));
+        verify(postRepository, never()).findFields(any(), any(), any());
+    }
+
+    /**
+     * Mỗi test khai báo số SQL statement tối đa qua @StatementBudget
+     *
+     * 🎯 MỤC ĐÍCH:
+     * - Fail ngay khi có N+1 hoặc lookup trùng lặp mới
+     * - Budget đã tính cả @PreAuthorize (resourceSecurityService) như request thật
+     */
+    @Nested
+    @StatementBudgetTest
+    class StatementBudgets {
+
+        @Autowired
+        private PostService realPostService;
+
+        @Autowired
+        private PostRepository realPostRepository;
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        private User author;
+        private Post post;
+
+        @BeforeEach
+        void setUp() {
+            author = persistUser("author");
+            post = persistPost(author, "Budget post");
+
+            // Vài post của các author khác để bắt N+1 khi map authorUsername
+            for (int i = 0; i < 5; i++) {
+                persistPost(persistUser("writer" + i), "Other post " + i);
+            }
+
+            TestSecurity.authenticateAs(author.getId(), author.getUsername(), "ROLE_USER");
+        }
+
+        @AfterEach
+        void tearDown() {
+            TestSecurity.clear();
+        }
+
+        @Test
+        // SELECT post JOIN author JOIN content
+        @StatementBudget(1)
+        void getPostById_withinBudget() {
+            realPostService.getPostById(post.getId());
+        }
+
+        @Test
+        // Metadata-only (validate post khi tạo comment, cleanup...): chỉ SELECT posts,
+        // post_contents không được đọc khi không gọi getContent()
+        @StatementBudget(1)
+        void findById_shouldNotLoadContent() {
+            entityManager.clear();
+            Post loaded = realPostRepository.findById(post.getId()).orElseThrow();
+            assertEquals("Budget post", loaded.getTitle());
+            assertFalse(entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                    .isLoaded(loaded, "body"));
+        }
+
+        @Test
+        // SELECT page (fetch author + content) + COUNT nếu page đầy
+        @StatementBudget(2)
+        void getAllPosts_withinBudget() {
+            realPostService.getAllPosts(PageRequest.of(0, 10));
+        }
+
+        @Test
+        // SELECT chỉ các cột summary (JOIN author) + COUNT nếu page đầy
+        @StatementBudget(2)
+        void getAllPostFields_summary_withinBudget() {
+            Page<Map<String, Object>> page = realPostService.getAllPostFields(PostField.SUMMARY,
+                    PageRequest.of(0, 10));
+
+            Map<String, Object> row = page.getContent().get(0);
+            assertEquals(List.of("id", "title", "excerpt", "authorUsername", "createdAt", "updatedAt"),
+                    List.copyOf(row.keySet()));
+            assertTrue(((String) row.get("excerpt")).startsWith("Content of"));
+        }
+
+        @Test
+        // SELECT author + INSERT post + INSERT post_contents
+        @StatementBudget(3)
+        void createPost_withinBudget() {
+            PostCreateRequest request = new PostCreateRequest();
+            request.setTitle("New post");
+            request.setContent("Body");
+            request.setUserId(author.getId());
+
+            realPostService.createPost(request);
+        }
+
+        @Test
+        // isPostAuthor: SELECT projection; updatePost: SELECT post JOIN user JOIN content
+        // + UPDATE posts (title, excerpt) + UPDATE post_contents
+        @StatementBudget(4)
+        void updatePost_withinBudget() {
+            PostUpdateRequest request = new PostUpdateRequest();
+            request.setTitle("Updated title");
+            request.setContent("Updated body");
+
+            realPostService.updatePost(post.getId(), request);
+        }
+
+        @Test
+        void updatePost_contentOnlyChangePastExcerpt_shouldBumpUpdatedAt() {
+            // Title + excerpt (200 code point đầu) giữ nguyên, chỉ đổi ký tự thứ 250
+            String content = "a".repeat(300);
+            Post longPost = persistPost(author, "Long post");
+            longPost.setContent(content);
+            entityManager.flush();
+            LocalDateTime stale = LocalDateTime.of(2020, 1, 1, 0, 0);
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE Post p SET p.updatedAt = :stale WHERE p.id = :id")
+                    .setParameter("stale", stale)
+                    .setParameter("id", longPost.getId())
+                    .executeUpdate();
+            entityManager.clear();
+
+            PostUpdateRequest request = new PostUpdateRequest();
+            request.setTitle("Long post");
+            request.setContent(content.substring(0, 250) + "b" + content.substring(251));
+            PostResponse response = realPostService.updatePost(longPost.getId(), request);
+
+            entityManager.clear();
+            Post reloaded = realPostRepository.findById(longPost.getId()).orElseThrow();
+            assertTrue(reloaded.getUpdatedAt().isAfter(stale));
+            assertTrue(response.getUpdatedAt().isAfter(stale));
+            assertEquals(author.getUsername(), reloaded.getUpdatedBy());
+        }
+
+        @Test
+        // isPostAuthor: SELECT projection (memoize); deletePost: UPDATE
+        @StatementBudget(2)
+        void deletePost_withinBudget() {
+            realPostService.deletePost(post.getId());
+        }
+
+        private User persistUser(String username) {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword("secret");
+            user.setRole("ROLE_USER");
+            return entityManager.persist(user);
+        }
+
+        private Post persistPost(User user, String title) {
+            Post newPost = new Post();
+            newPost.setTitle(title);
+            newPost.setContent("Content of " + title);
+            newPost.setUser(user);
+            return entityManager.persist(newPost);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.example.blogapi.config.JwtProperties;
+import com.example.blogapi.entity.RefreshToken;
+import com.example.blogapi.entity.User;
+import com.example.blogapi.repository.RefreshTokenRepository;
+import com.example.blogapi.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String RAW_TOKEN = "raw-refresh-token";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtProperties jwtProperties;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private RefreshToken storedToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("john_doe");
+
+        storedToken = new RefreshToken();
+        storedToken.setId(10L);
+        storedToken.setFamilyId("family-1");
+        storedToken.setUser(user);
+        storedToken.setCreatedAt(LocalDateTime.now().minusDays(1));
+        storedToken.setExpiresAt(LocalDateTime.now().plusDays(1));
+    }
+
+    // ============== TEST CASE 1: Rotation cấp token mới cùng family ==============
+
+    @Test
+    void rotate_activeToken_shouldIssueNewTokenInSameFamily() {
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeIfActive(eq(10L), any())).thenReturn(1);
+        when(jwtProperties.getRefreshExpiration()).thenReturn(1_209_600_000L);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(RAW_TOKEN);
+
+        assertNotEquals(RAW_TOKEN, rotation.refreshToken());
+        assertSame(storedToken.getUser(), rotation.user());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    // ============== TEST CASE 2: Dùng lại token đã revoke → revoke cả family ==============
+
+    @Test
+    void rotate_reusedToken_shouldRevokeWholeFamily() {
+        storedToken.setRevokedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(storedToken));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(RAW_TOKEN));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    // ============== TEST CASE 3: Token hết hạn bị từ chối ==============
+
+    @Test
+    void rotate_expiredToken_shouldThrowWithoutIssuing() {
+        storedToken.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeIfActive(eq(10L), any())).thenReturn(1);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(RAW_TOKEN));
+
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+}
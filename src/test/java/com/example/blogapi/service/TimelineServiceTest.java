@@ -0,0 +1,156 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import com.example.blogapi.config.TimelineProperties;
+import com.example.blogapi.dto.response.PostResponse;
+import com.example.blogapi.dto.response.TimelineResponse;
+import com.example.blogapi.repository.FollowRepository;
+import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.TimelineEntry;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceTest {
+
+    private static final Long AUTHOR_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    private TimelineProperties properties;
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TimelineProperties();
+        properties.setCelebrityThreshold(100);
+        properties.setFanOutBatchSize(2);
+        timelineService = new TimelineService(stringRedisTemplate, followRepository, postRepository, postService,
+                properties, taskExecutor);
+    }
+
+    // ============== TEST CASE 1: Celebrity → chỉ ghi timeline của chính author ==============
+
+    @Test
+    void fanOut_celebrityAuthor_shouldSkipFollowers() {
+        timelineService.fanOut(new PostCreatedEvent(10L, AUTHOR_ID, 100, BASE));
+
+        verify(stringRedisTemplate).execute(any(), eq(List.of(TimelineService.key(AUTHOR_ID))), any(), any(), any());
+        verify(followRepository, never()).findFollowerIdBatch(anyLong(), anyLong(), anyInt());
+    }
+
+    // ============== TEST CASE 2: Followers được duyệt theo keyset, mỗi batch 1 script ==============
+
+    @Test
+    void fanOut_shouldPushToFollowersInKeysetBatches() {
+        when(followRepository.findFollowerIdBatch(AUTHOR_ID, 0L, 2)).thenReturn(List.of(2L, 3L));
+        when(followRepository.findFollowerIdBatch(AUTHOR_ID, 3L, 2)).thenReturn(List.of(4L));
+
+        timelineService.fanOut(new PostCreatedEvent(10L, AUTHOR_ID, 3, BASE));
+
+        verify(stringRedisTemplate).execute(any(),
+                eq(List.of(TimelineService.key(2L), TimelineService.key(3L))), any(), eq("10"), any());
+        verify(stringRedisTemplate).execute(any(), eq(List.of(TimelineService.key(4L))), any(), eq("10"), any());
+        verify(followRepository, times(2)).findFollowerIdBatch(anyLong(), anyLong(), anyInt());
+    }
+
+    // ============== TEST CASE 3: Merge celebrity posts theo createdAt ==============
+
+    @Test
+    void getTimeline_shouldMergeCelebrityPostsNewestFirst() {
+        String key = TimelineService.key(AUTHOR_ID);
+        when(stringRedisTemplate.expire(eq(key), any())).thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        Set<TypedTuple<String>> materialized = new LinkedHashSet<>();
+        materialized.add(TypedTuple.of("5", (double) epochMillis(BASE.plusMinutes(3))));
+        materialized.add(TypedTuple.of("3", (double) epochMillis(BASE.plusMinutes(1))));
+        when(zSetOperations.reverseRangeByScoreWithScores(eq(key), anyDouble(), anyDouble(), eq(0L), eq(3L)))
+                .thenReturn(materialized);
+
+        when(followRepository.findCelebrityFolloweeIds(AUTHOR_ID, 100)).thenReturn(List.of(7L));
+        when(postRepository.findTimelineEntriesByAuthors(eq(List.of(7L)), any(), any()))
+                .thenReturn(List.of(new TimelineEntry(4L, BASE.plusMinutes(2))));
+
+        when(postService.getPostsByIds(List.of(5L, 4L, 3L)))
+                .thenReturn(List.of(response(5L), response(4L), response(3L)));
+
+        TimelineResponse timeline = timelineService.getTimeline(AUTHOR_ID, null, 3);
+
+        assertEquals(List.of(5L, 4L, 3L), timeline.getPosts().stream().map(PostResponse::getId).toList());
+        assertEquals(epochMillis(BASE.plusMinutes(1)), timeline.getNextCursor());
+    }
+
+    // ============== TEST CASE 4: Rebuild tạo key trước khi query DB ==============
+
+    @Test
+    void getTimeline_missingTimeline_shouldCreateKeyBeforeRebuildQuery() {
+        String key = TimelineService.key(AUTHOR_ID);
+        when(stringRedisTemplate.expire(eq(key), any())).thenReturn(false);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(postRepository.findTimelineEntries(eq(AUTHOR_ID), anyLong(), any(), any()))
+                .thenReturn(List.of(new TimelineEntry(3L, BASE)));
+
+        timelineService.getTimeline(AUTHOR_ID, null, 3);
+
+        // Fan-out chạy giữa query và ZADD kết quả vẫn thấy key → không mất post
+        InOrder inOrder = inOrder(zSetOperations, postRepository);
+        inOrder.verify(zSetOperations).add(key, TimelineService.PLACEHOLDER, 0);
+        inOrder.verify(postRepository).findTimelineEntries(eq(AUTHOR_ID), anyLong(), any(), any());
+        inOrder.verify(zSetOperations).add(eq(key), anySet());
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static PostResponse response(Long id) {
+        PostResponse response = new PostResponse();
+        response.setId(id);
+        return response;
+    }
+}
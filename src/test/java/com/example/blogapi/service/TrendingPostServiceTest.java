@@ -0,0 +1,96 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingPostServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @InjectMocks
+    private TrendingPostService trendingPostService;
+
+    // ============== TEST CASE 1: Views được gom trước khi ghi DB ==============
+
+    /**
+     * Nhiều lượt xem của cùng 1 post → 1 dòng upsert duy nhất khi flush
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushViews_shouldUpsertOneRowPerPost() {
+        // ARRANGE
+        ReflectionTestUtils.setField(trendingPostService, "enabled", true);
+        trendingPostService.recordView(1L);
+        trendingPostService.recordView(1L);
+        trendingPostService.recordView(1L);
+        trendingPostService.recordView(2L);
+
+        // ACT
+        trendingPostService.flushViews();
+
+        // ASSERT
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+
+        assertEquals(2, batch.getValue().size());
+        Object[] first = batch.getValue().stream().filter(row -> row[0].equals(1L)).findFirst().orElseThrow();
+        assertEquals(3L, first[2]);
+
+        // Counter đã được reset → flush lần 2 không ghi gì
+        trendingPostService.flushViews();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    // ============== TEST CASE 2: Refresh không block reader ==============
+
+    @Test
+    void refreshTrending_shouldRefreshConcurrentlyAndEvictCache() {
+        // ARRANGE
+        ReflectionTestUtils.setField(trendingPostService, "enabled", true);
+
+        // ACT
+        trendingPostService.refreshTrending();
+
+        // ASSERT
+        verify(jdbcTemplate).execute(eq("REFRESH MATERIALIZED VIEW CONCURRENTLY trending_posts"));
+        verify(cacheInvalidationService).evictTrendingPosts();
+    }
+
+    // ============== TEST CASE 3: Disabled (H2 / dev) ==============
+
+    @Test
+    void whenDisabled_shouldNotTouchDatabase() {
+        // ACT
+        trendingPostService.recordView(1L);
+        trendingPostService.flushViews();
+        trendingPostService.refreshTrending();
+
+        // ASSERT
+        assertTrue(trendingPostService.getTrendingPosts().isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+        verify(cacheInvalidationService, never()).evictTrendingPosts();
+    }
+}
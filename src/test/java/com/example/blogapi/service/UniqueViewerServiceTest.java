@@ -0,0 +1,100 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.example.blogapi.config.UniqueViewerProperties;
+import com.example.blogapi.support.TestSecurity;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueViewerServiceTest {
+
+    private static final Long POST_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private UniqueViewerService uniqueViewerService;
+
+    @BeforeEach
+    void setUp() {
+        UniqueViewerProperties properties = new UniqueViewerProperties();
+        properties.setFingerprintSalt("test-salt");
+        properties.setMaxPending(3);
+        uniqueViewerService = new UniqueViewerService(stringRedisTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestSecurity.clear();
+    }
+
+    // ============== TEST CASE 1: Visitor trùng chỉ gom 1 lần ==============
+
+    @Test
+    void recordView_shouldDedupeVisitorsBeforeFlush() {
+        // Anonymous: cùng IP + User-Agent là 1 visitor, khác User-Agent là visitor khác
+        uniqueViewerService.recordView(POST_ID, "10.0.0.1", "Firefox");
+        uniqueViewerService.recordView(POST_ID, "10.0.0.1", "Firefox");
+        uniqueViewerService.recordView(POST_ID, "10.0.0.1", "Chrome");
+
+        // Đã đăng nhập: theo user ID, không phụ thuộc IP
+        TestSecurity.authenticateAs(7L, "alice", "ROLE_USER");
+        uniqueViewerService.recordView(POST_ID, "10.0.0.2", "Firefox");
+        uniqueViewerService.recordView(POST_ID, "10.0.0.3", "Safari");
+
+        assertEquals(3, uniqueViewerService.pendingCount());
+
+        // Buffer đầy (max-pending = 3) → bỏ qua
+        uniqueViewerService.recordView(2L, "10.0.0.4", "Edge");
+        assertEquals(3, uniqueViewerService.pendingCount());
+    }
+
+    // ============== TEST CASE 2: Flush → PFCOUNT trong cùng pipeline cập nhật count cache ==============
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldCacheCountFromPipeline() {
+        uniqueViewerService.recordView(POST_ID, "10.0.0.1", "Firefox");
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(1L, 42L));
+
+        uniqueViewerService.flush();
+
+        assertEquals(0, uniqueViewerService.pendingCount());
+        assertEquals(42L, uniqueViewerService.getViewerCount(POST_ID));
+        verify(stringRedisTemplate, never()).opsForHyperLogLog();
+    }
+
+    // ============== TEST CASE 3: PFCOUNT lỗi → request sau không chờ Redis nữa ==============
+
+    @Test
+    void getViewerCount_afterRedisFailure_shouldSkipRedisForBackoff(
+            @Mock HyperLogLogOperations<String, String> hyperLogLog) {
+        when(stringRedisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLog);
+        when(hyperLogLog.size(UniqueViewerService.key(POST_ID)))
+                .thenThrow(new RedisConnectionFailureException("timeout"));
+
+        assertNull(uniqueViewerService.getViewerCount(POST_ID));
+        assertNull(uniqueViewerService.getViewerCount(POST_ID));
+
+        verify(hyperLogLog, times(1)).size(UniqueViewerService.key(POST_ID));
+    }
+}
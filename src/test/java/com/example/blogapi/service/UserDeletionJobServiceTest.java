@@ -0,0 +1,76 @@
+package com.example.blogapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.blogapi.exception.ServiceOverloadedException;
+import com.example.blogapi.repository.CommentRepository;
+import com.example.blogapi.repository.PostRepository;
+import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.service.UserDeletionJobService.UserDeletionJob;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionJobServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserDeletionJobService userDeletionJobService;
+
+    @BeforeEach
+    void setUp() {
+        userDeletionJobService = new UserDeletionJobService(userRepository, postRepository, commentRepository,
+                cacheInvalidationService, taskExecutor, transactionManager);
+    }
+
+    // ============== TEST CASE 1: 1 user chỉ có 1 job đang chạy ==============
+
+    @Test
+    void submit_whenJobPendingForSameUser_shouldReturnExistingJob() {
+        UserDeletionJob first = userDeletionJobService.submit(7L, 100, 10);
+        UserDeletionJob second = userDeletionJobService.submit(7L, 100, 10);
+
+        assertSame(first, second);
+        verify(taskExecutor, times(1)).execute(any());
+    }
+
+    // ============== TEST CASE 2: Queue đầy → 503, không để lại job PENDING ==============
+
+    @Test
+    void submit_whenExecutorRejects_shouldThrowOverloadedAndForgetJob() {
+        doThrow(new TaskRejectedException("queue full")).when(taskExecutor).execute(any());
+
+        assertThrows(ServiceOverloadedException.class, () -> userDeletionJobService.submit(7L, 100, 10));
+
+        assertTrue(userDeletionJobService.findActiveJob(7L).isEmpty());
+    }
+}
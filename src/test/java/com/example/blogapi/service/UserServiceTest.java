@@ -3,7 +3,10 @@ package com.example.blogapi.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,19 +22,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.example.blogapi.dto.request.UserCreateRequest;
 import com.example.blogapi.dto.response.UserResponse;
 import com.example.blogapi.entity.User;
 import com.example.blogapi.exception.ResourceNotFoundException;
 import com.example.blogapi.mapper.UserMapper;
+import com.example.blogapi.repository.CommentRepository;
+import com.example.blogapi.repository.PostRepository;
 import com.example.blogapi.repository.UserRepository;
+import com.example.blogapi.service.UserDeletionJobService.UserDeletionJob;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -44,6 +52,24 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserDeletionJobService userDeletionJobService;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -208,23 +234,84 @@ class UserServiceTest {
      * Test xóa user thành công
      * 
      * 📚 GIẢI THÍCH:
-     * - Method void không return gì → chỉ verify behavior
-     * - Kiểm tra existsById() được gọi trước deleteById()
+     * - Account nhỏ → xoá đồng bộ bằng 1 câu DELETE (DB cascade)
+     * - Kiểm tra findUsernameById() được gọi trước deleteUserById()
+     * - Principal cache của JWT filter bị invalidate theo username
+     * - Cache được evict chính xác theo user ID và post IDs
      */
     @Test
     void deleteUser_whenUserExists_shouldDeleteSuccessfully() {
         // ARRANGE
         Long userId = 1L;
+        ReflectionTestUtils.setField(userService, "asyncDeletionThreshold", 5000L);
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.of("john_doe"));
+        when(postRepository.countAllByUserId(userId)).thenReturn(2L);
+        when(postRepository.findIdsByUserId(userId)).thenReturn(List.of(10L, 11L));
 
         // ACT
-        userService.deleteUser(userId);
+        Optional<UserDeletionJob> job = userService.deleteUser(userId);
 
         // ASSERT
-        verify(userRepository, times(1)).existsById(userId);
-        verify(userRepository, times(1)).deleteById(userId);
+        assertTrue(job.isEmpty());
+        verify(userRepository, times(1)).findUsernameById(userId);
+        verify(userRepository, times(1)).deleteUserById(userId);
+        verify(userRepository, never()).deleteById(any());
+        verify(cacheInvalidationService, times(1)).evictUser(userId);
+        verify(cacheInvalidationService, times(1)).evictPrincipal(1L, "john_doe");
+        verify(cacheInvalidationService, times(1)).evictPosts(List.of(10L, 11L));
+        verify(userDeletionJobService, never()).submit(any(), anyLong(), anyLong());
+    }
+
+    // ============== TEST CASE 5b: Delete User - Large Account ==============
 
+    /**
+     * Account lớn (vượt threshold) → giao cho job async, không DELETE ngay
+     */
+    @Test
+    void deleteUser_whenAccountIsLarge_shouldSubmitAsyncJob() {
+        // ARRANGE
+        Long userId = 1L;
+        ReflectionTestUtils.setField(userService, "asyncDeletionThreshold", 100L);
+
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.of("prolific"));
+        when(postRepository.countAllByUserId(userId)).thenReturn(80L);
+        when(commentRepository.countDeletedWithUser(userId)).thenReturn(70L);
+
+        UserDeletionJob submittedJob = mock(UserDeletionJob.class);
+        when(userDeletionJobService.submit(userId, 70L, 80L)).thenReturn(submittedJob);
+
+        // ACT
+        Optional<UserDeletionJob> job = userService.deleteUser(userId);
+
+        // ASSERT
+        assertTrue(job.isPresent());
+        assertEquals(submittedJob, job.get());
+        verify(userRepository, never()).deleteUserById(any());
+        // Account bị disable + token bị thu hồi ngay, không đợi job xoá xong
+        verify(userRepository, times(1)).markDeleting(userId);
+        verify(refreshTokenService, times(1)).revokeAllOf(userId);
+        verify(cacheInvalidationService, times(1)).evictPrincipal(userId, "prolific");
+    }
+
+    /**
+     * DELETE lặp lại khi job đang chạy → trả job cũ, không đếm lại / không submit job mới
+     */
+    @Test
+    void deleteUser_whenJobAlreadyRunning_shouldReturnExistingJob() {
+        // ARRANGE
+        Long userId = 1L;
+        UserDeletionJob runningJob = mock(UserDeletionJob.class);
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.of("prolific"));
+        when(userDeletionJobService.findActiveJob(userId)).thenReturn(Optional.of(runningJob));
+
+        // ACT
+        Optional<UserDeletionJob> job = userService.deleteUser(userId);
+
+        // ASSERT
+        assertEquals(runningJob, job.orElseThrow());
+        verify(userDeletionJobService, never()).submit(any(), anyLong(), anyLong());
+        verify(userRepository, never()).deleteUserById(any());
     }
 
     // ============== TEST CASE 6: Delete User - Not Found ==============
@@ -238,7 +325,7 @@ class UserServiceTest {
         // ARRANGE
         Long userId = 999L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.empty());
 
         // ACT & ASSERT
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -247,11 +334,36 @@ class UserServiceTest {
 
         assertEquals("Không tìm thấy user với ID: " + userId, exception.getMessage());
 
-        verify(userRepository, times(1)).existsById(userId);
-        verify(userRepository, never()).deleteById(any());
+        verify(userRepository, times(1)).findUsernameById(userId);
+        verify(userRepository, never()).deleteUserById(any());
+        verify(cacheInvalidationService, never()).evictPrincipal(any(), any());
 
     }
 
+    // ============== TEST CASE 6b: Change Role ==============
+
+    /**
+     * Đổi role → principal cache phải bị invalidate (role cũ không còn hiệu lực)
+     */
+    @Test
+    void changeUserRole_shouldUpdateRoleAndInvalidatePrincipal() {
+        // ARRANGE
+        Long userId = 1L;
+        User user = createMockUser(userId, "john_doe");
+        user.setRole("ROLE_USER");
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(userMapper.toUserResponse(user)).thenReturn(new UserResponse());
+
+        // ACT
+        userService.changeUserRole(userId, "ROLE_ADMIN");
+
+        // ASSERT
+        assertEquals("ROLE_ADMIN", user.getRole());
+        verify(cacheInvalidationService, times(1)).evictPrincipal(1L, "john_doe");
+    }
+
     // ============== TEST CASE 7: Get All Users with Pagination ==============
     @Test
     void getAllUsers_withPagination_shouldReturnPageOfUsers() {
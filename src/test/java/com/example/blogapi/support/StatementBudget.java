@@ -0,0 +1,30 @@
+package com.example.blogapi.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Số SQL statement tối đa một test method được phép phát ra
+ *
+ * 🎯 MỤC ĐÍCH:
+ * - Bắt regression N+1 / lookup trùng lặp ngay trong test
+ * - Đếm từ sau @BeforeEach (fixture không tính) tới hết test method,
+ * bao gồm cả flush cuối cùng (UPDATE/INSERT đang pending)
+ *
+ * 📚 SỬ DỤNG:
+ * - Test class dùng @StatementBudgetTest (hoặc @ExtendWith(StatementBudgetExtension.class))
+ * - @Test @StatementBudget(2) void getPostById_...() { ... }
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StatementBudget {
+
+    /**
+     * Số statement tối đa (SELECT + INSERT + UPDATE + DELETE)
+     */
+    int value();
+}
@@ -0,0 +1,59 @@
+package com.example.blogapi.support;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JUnit extension áp dụng @StatementBudget cho từng test method
+ *
+ * 🎯 THỨ TỰ:
+ * - SpringExtension mở transaction ở beforeEach, @BeforeEach tạo fixture
+ * - beforeTestExecution: flush + clear, reset bộ đếm, bind request scope
+ * (memoize trong request attributes hoạt động như request thật)
+ * - afterTestExecution: flush, so sánh với budget (transaction vẫn còn mở)
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+            .create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        findBudget(context).ifPresent(budget -> {
+            StatementCounter counter = StatementCounter.of(
+                    SpringExtension.getApplicationContext(context).getBean(EntityManagerFactory.class));
+            counter.start();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            context.getStore(NAMESPACE).put(context.getUniqueId(), counter);
+        });
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementCounter counter = context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementCounter.class);
+        RequestContextHolder.resetRequestAttributes();
+        if (counter == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        StatementBudget budget = findBudget(context).orElseThrow();
+        long actual = counter.stop();
+        StatementCounter.assertWithinBudget(budget.value(), actual, context.getRequiredTestMethod().getName());
+    }
+
+    private Optional<StatementBudget> findBudget(ExtensionContext context) {
+        return context.getTestMethod()
+                .flatMap((Method method) -> AnnotationSupport.findAnnotation(method, StatementBudget.class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.blogapi.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+import com.example.blogapi.config.AuditorAwareImpl;
+import com.example.blogapi.mapper.CommentMapperImpl;
+import com.example.blogapi.mapper.PostMapperImpl;
+import com.example.blogapi.mapper.UserMapperImpl;
+import com.example.blogapi.security.ResourceSecurityService;
+import com.example.blogapi.service.CommentService;
+import com.example.blogapi.service.PostService;
+
+/**
+ * Slice test JPA (H2) + service thật + method security để đo statement budget
+ *
+ * 📚 BAO GỒM:
+ * - @DataJpaTest: transaction rollback sau mỗi test
+ * - PostService, CommentService, ResourceSecurityService, mappers
+ * - @EnableMethodSecurity: @PreAuthorize (isPostAuthor, ...) cũng được tính
+ * vào budget giống request thật
+ * - StatementBudgetExtension: đọc @StatementBudget trên test method
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ StatementBudgetTest.Config.class, PostService.class, CommentService.class,
+        ResourceSecurityService.class, PostMapperImpl.class, CommentMapperImpl.class, UserMapperImpl.class })
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudgetTest {
+
+    @TestConfiguration
+    @EnableMethodSecurity(prePostEnabled = true)
+    class Config {
+
+        /**
+         * @EnableJpaAuditing tham chiếu bean theo tên "auditorAwareImpl"
+         */
+        @Bean
+        AuditorAwareImpl auditorAwareImpl() {
+            return new AuditorAwareImpl();
+        }
+
+        /**
+         * Slice không bật caching → PostService.getPostsByIds luôn đọc DB
+         */
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+}
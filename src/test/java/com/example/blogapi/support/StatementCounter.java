@@ -0,0 +1,98 @@
+package com.example.blogapi.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Đếm SQL statement dựa trên Hibernate Statistics (chỉ dùng trong test)
+ *
+ * 🎯 CƠ CHẾ:
+ * - getPrepareStatementCount() đếm mọi statement được prepare qua Hibernate
+ * - Trước khi đo: flush + clear persistence context → query không được
+ * "giấu" bởi first-level cache của fixture
+ * - Sau khi đo: flush → UPDATE/INSERT pending cũng được tính
+ *
+ * 📚 SỬ DỤNG (assertion API):
+ * 
+ * <pre>
+ * StatementCounter counter = StatementCounter.of(entityManagerFactory);
+ * PostResponse post = counter.assertAtMost(2, () -> postService.getPostById(id));
+ * </pre>
+ */
+public final class StatementCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    private StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public static StatementCounter of(EntityManagerFactory entityManagerFactory) {
+        return new StatementCounter(entityManagerFactory);
+    }
+
+    /**
+     * Flush + clear persistence context hiện tại rồi reset bộ đếm về 0
+     */
+    public void start() {
+        EntityManager entityManager = transactionalEntityManager();
+        if (entityManager != null) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        statistics.clear();
+    }
+
+    /**
+     * Flush các thay đổi pending rồi trả về số statement từ lần start() gần nhất
+     */
+    public long stop() {
+        EntityManager entityManager = transactionalEntityManager();
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Chạy action và fail nếu số statement vượt budget
+     *
+     * @param maxStatements budget
+     * @param action        service call cần đo
+     * @return kết quả của action
+     */
+    public <T> T assertAtMost(int maxStatements, Supplier<T> action) {
+        start();
+        T result = action.get();
+        assertWithinBudget(maxStatements, stop(), "action");
+        return result;
+    }
+
+    public void assertAtMost(int maxStatements, Runnable action) {
+        assertAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void assertWithinBudget(int maxStatements, long actual, String label) {
+        assertTrue(actual <= maxStatements,
+                () -> "Statement budget exceeded for " + label + ": expected at most "
+                        + maxStatements + " but was " + actual);
+    }
+
+    private EntityManager transactionalEntityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+}
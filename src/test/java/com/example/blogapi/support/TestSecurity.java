@@ -0,0 +1,42 @@
+package com.example.blogapi.support;
+
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.blogapi.security.UserPrincipal;
+
+/**
+ * Đặt authentication vào SecurityContext cho test gọi service có @PreAuthorize
+ * (principal là UserDetails giống JwtAuthenticationFilter)
+ */
+public final class TestSecurity {
+
+    private TestSecurity() {
+    }
+
+    public static void authenticateAs(String username, String role) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        UserDetails principal = new User(username, "", authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    /**
+     * Principal kèm user ID giống CustomUserDetailsService (ownership check so sánh theo ID)
+     */
+    public static void authenticateAs(Long userId, String username, String role) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        UserPrincipal principal = new UserPrincipal(userId, username, "", authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    public static void clear() {
+        SecurityContextHolder.clearContext();
+    }
+}